@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive for the packaged application and prints the command to start with it.
+# The training run refreshes the context and exits (-Dspring.context.exit=onRefresh), so it needs the same
+# database that the application uses (Flyway and the JPA bootstrap run during refresh).
+#
+#   mvn -Paot package -DskipTests && ./scripts/cds-archive.sh
+#   PROFILES=prod,virtual ./scripts/cds-archive.sh
+set -euo pipefail
+
+PROFILES=${PROFILES:-prod}
+JAR=$(ls target/orchid-*.jar | head -n 1)
+OUT=target/cds
+
+# CDS only maps classes from plain jars on the class path, not from the nested jars of a fat jar
+rm -rf "$OUT"
+mkdir -p "$OUT"
+(cd "$OUT" && jar -xf "../../$JAR")
+CLASSPATH="$OUT/BOOT-INF/classes:$(ls "$OUT"/BOOT-INF/lib/*.jar | tr '\n' ':')"
+MAIN=com.se170395.orchid.OrchidApplication
+
+# Use the AOT-generated context initializer when the jar was built with -Paot
+AOT_FLAG=""
+if [ -f "$OUT/BOOT-INF/classes/com/se170395/orchid/OrchidApplication__ApplicationContextInitializer.class" ]; then
+    AOT_FLAG="-Dspring.aot.enabled=true"
+fi
+
+echo "=== Training run (profiles: ${PROFILES})"
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dspring.context.exit=onRefresh $AOT_FLAG \
+    -cp "$CLASSPATH" "$MAIN" --spring.profiles.active="$PROFILES"
+
+echo "=== Archive written to $OUT/app.jsa; start with:"
+echo "java -XX:SharedArchiveFile=$OUT/app.jsa $AOT_FLAG -cp \"$CLASSPATH\" $MAIN --spring.profiles.active=$PROFILES"
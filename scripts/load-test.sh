@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compares throughput and latency percentiles of the platform-thread and virtual-thread modes.
+# Requires `hey` (https://github.com/rakyll/hey) and a running SQL Server with the Orchid database.
+#
+#   ./scripts/load-test.sh            # 200 concurrent clients, 30s per endpoint
+#   CONCURRENCY=1000 DURATION=60s ./scripts/load-test.sh
+set -euo pipefail
+
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30s}
+PORT=${PORT:-8080}
+JAR=$(ls target/orchid-*.jar | head -n 1)
+
+run_mode() {
+    local mode=$1
+    local profiles=$2
+
+    echo "=== ${mode} ==="
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "target/load-test-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    until curl -s "http://localhost:${PORT}/api/categories" > /dev/null; do sleep 1; done
+
+    for endpoint in /api/categories /api/orchids "/api/orchids?page=0&size=20"; do
+        echo "--- ${endpoint}"
+        hey -z "$DURATION" -c "$CONCURRENCY" "http://localhost:${PORT}${endpoint}" \
+            | grep -E "Requests/sec|50%|95%|99%"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform default
+run_mode virtual virtual
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Smoke test of the JVM jar and the native executable against the in-memory H2 profile:
+# register + login, then orchid create/read/update/delete. Prints startup time and RSS for each.
+#
+#   mvn package -DskipTests && mvn -Pnative native:compile -DskipTests && ./scripts/native-smoke.sh
+set -euo pipefail
+
+PORT=${PORT:-8080}
+BASE="http://localhost:${PORT}"
+JAR=$(ls target/orchid-*.jar | head -n 1)
+NATIVE=${NATIVE:-target/orchid}
+
+now_ms() { date +%s%3N; }
+
+expect() {
+    local status=$1 expected=$2 step=$3
+    if [ "$status" != "$expected" ]; then
+        echo "FAILED: ${step} returned ${status}, expected ${expected}" >&2
+        exit 1
+    fi
+}
+
+smoke() {
+    local body status token category_id orchid_id
+
+    curl -s -o /dev/null -X POST "$BASE/auth/roles" -H 'Content-Type: application/json' -d '{"roleName":"USER"}'
+
+    status=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE/auth/register" -H 'Content-Type: application/json' \
+        -d '{"email":"smoke@example.com","password":"smoke123","accountName":"smoke"}')
+    expect "$status" 201 "register"
+
+    body=$(curl -s -X POST "$BASE/auth/login" -H 'Content-Type: application/json' \
+        -d '{"email":"smoke@example.com","password":"smoke123"}')
+    token=$(echo "$body" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+    [ -n "$token" ] || { echo "FAILED: login returned no token: $body" >&2; exit 1; }
+    local auth="Authorization: Bearer ${token}"
+
+    body=$(curl -s -X POST "$BASE/api/categories" -H "$auth" -H 'Content-Type: application/json' -d '{"categoryName":"Smoke"}')
+    category_id=$(echo "$body" | sed -n 's/.*"categoryId":\([0-9]*\).*/\1/p')
+    [ -n "$category_id" ] || { echo "FAILED: create category: $body" >&2; exit 1; }
+
+    body=$(curl -s -X POST "$BASE/api/orchids" -H "$auth" -H 'Content-Type: application/json' \
+        -d "{\"orchidName\":\"Smoke Orchid\",\"orchidDescription\":\"smoke\",\"price\":10.5,\"natural\":true,\"category\":{\"categoryId\":${category_id}}}")
+    orchid_id=$(echo "$body" | sed -n 's/.*"orchidId":\([0-9]*\).*/\1/p')
+    [ -n "$orchid_id" ] || { echo "FAILED: create orchid: $body" >&2; exit 1; }
+
+    expect "$(curl -s -o /dev/null -w '%{http_code}' "$BASE/api/orchids/${orchid_id}" -H "$auth")" 200 "get orchid"
+    expect "$(curl -s -o /dev/null -w '%{http_code}' -X PUT "$BASE/api/orchids/${orchid_id}" -H "$auth" -H 'Content-Type: application/json' \
+        -d "{\"orchidName\":\"Smoke Orchid 2\",\"price\":12,\"natural\":false,\"category\":{\"categoryId\":${category_id}}}")" 200 "update orchid"
+    expect "$(curl -s -o /dev/null -w '%{http_code}' "$BASE/api/orchids?page=0&size=10" -H "$auth")" 200 "list orchids"
+    expect "$(curl -s -o /dev/null -w '%{http_code}' -X DELETE "$BASE/api/orchids/${orchid_id}" -H "$auth")" 204 "delete orchid"
+}
+
+run() {
+    local mode=$1
+    shift
+    local start pid ready rss
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --spring.profiles.active=h2 > "target/native-smoke-${mode}.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    until curl -s -o /dev/null "$BASE/api/categories"; do
+        kill -0 "$pid" 2>/dev/null || { echo "FAILED: ${mode} exited, see target/native-smoke-${mode}.log" >&2; exit 1; }
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+
+    smoke
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    printf '%-7s ok   first response after %6d ms   RSS %6d MB   (%s)\n' "$mode" "$ready" $(( rss / 1024 )) \
+        "$(grep -o 'Started OrchidApplication in [0-9.]* seconds' "target/native-smoke-${mode}.log" || true)"
+}
+
+run jvm java -jar "$JAR"
+if [ -x "$NATIVE" ]; then
+    run native "$NATIVE"
+else
+    echo "native  skipped: ${NATIVE} not found (build with mvn -Pnative native:compile)"
+fi
@@ -0,0 +1,66 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pojo.Account;
+import pojo.Category;
+import pojo.Orchid;
+import pojo.Order;
+import pojo.OrderStatus;
+import pojo.Role;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Orchid> orchids;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category(1L, "Phalaenopsis");
+        Account account = new Account(1L, "Test User", "user@example.com", "$2a$10$hash", true, new Role(1L, "USER"));
+
+        orchids = new ArrayList<>(size);
+        orders = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            orchids.add(new Orchid(i, i % 2 == 0, "Beautiful orchid number " + i, "Orchid " + i,
+                    "https://example.com/orchid-" + i + ".jpg", 25.99 + i % 100, category));
+            orders.add(new Order(i, account, new Date(), OrderStatus.PENDING, BigDecimal.valueOf(10_000 + i, 2)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrchids() throws Exception {
+        return objectMapper.writeValueAsBytes(orchids);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
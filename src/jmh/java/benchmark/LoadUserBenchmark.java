@@ -0,0 +1,72 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import pojo.Account;
+import pojo.Role;
+import repository.AccountRepo;
+import service.SystemAccountService;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadUserBenchmark {
+
+    private static final String EMAIL = "user@example.com";
+
+    private SystemAccountService systemAccountService;
+
+    @Setup
+    public void setUp() {
+        Account account = new Account(1L, "Test User", EMAIL, "$2a$10$8.UnVuG9HHgffUDAlk8qfOuVGkqRzgVymGe07xd00DMxs.AQubh4a",
+                true, new Role(1L, "USER"));
+        systemAccountService = new SystemAccountService(inMemoryRepo(account), new BCryptPasswordEncoder(), 10000, 300);
+    }
+
+    // Builds UserDetails from the repository on every call
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return systemAccountService.loadUserByUsername(EMAIL);
+    }
+
+    @Benchmark
+    public UserDetails loadCachedUser() {
+        return systemAccountService.loadCachedUser(EMAIL);
+    }
+
+    // AccountRepo stub that answers the email lookups from memory and rejects everything else
+    static AccountRepo inMemoryRepo(Account account) {
+        return (AccountRepo) Proxy.newProxyInstance(AccountRepo.class.getClassLoader(), new Class<?>[]{AccountRepo.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByEmail":
+                        case "findByEmailWithRole":
+                            return account.getEmail().equals(args[0]) ? account : null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "InMemoryAccountRepo";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost of the JwtFilter/SystemAccountService hot path (eight lines per request before the
+ * change) against guarded DEBUG statements and a 1% sampled access log line behind an async appender.
+ * Output goes to a discarding stream so the numbers measure formatting, encoding and appender overhead, not disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String EMAIL = "user@example.com";
+    private static final List<String> AUTHORITIES = List.of("ROLE_USER");
+
+    private LoggerContext context;
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private Logger debugLogger;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = discardingAppender("sink");
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("async");
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(discardingAppender("asyncSink"));
+        async.start();
+
+        syncLogger = context.getLogger("sync");
+        syncLogger.setAdditive(false);
+        syncLogger.addAppender(sink);
+        syncLogger.setLevel(Level.INFO);
+
+        asyncLogger = context.getLogger("async");
+        asyncLogger.setAdditive(false);
+        asyncLogger.addAppender(async);
+        asyncLogger.setLevel(Level.INFO);
+
+        // Same appender, but the statements below are DEBUG and the logger is at INFO, as in the prod profile
+        debugLogger = context.getLogger("debug");
+        debugLogger.setAdditive(false);
+        debugLogger.addAppender(sink);
+        debugLogger.setLevel(Level.INFO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    // Previous behaviour: every request logged at INFO through a synchronous console appender
+    @Benchmark
+    public void infoPerRequestSync() {
+        infoPerRequest(syncLogger);
+    }
+
+    @Benchmark
+    public void infoPerRequestAsync() {
+        infoPerRequest(asyncLogger);
+    }
+
+    // Current hot path: DEBUG statements behind level checks plus a sampled access log line
+    @Benchmark
+    public void guardedDebugWithSampledAccessLog() {
+        if (debugLogger.isDebugEnabled()) {
+            debugLogger.debug("Processing request: {} with Authorization header: {}", "/api/orchids", "present");
+        }
+        debugLogger.debug("Extracted email from JWT: {}", EMAIL);
+        debugLogger.debug("Resolved user {} with authorities: {}", EMAIL, AUTHORITIES);
+        debugLogger.debug("Authentication set in SecurityContext for user: {}", EMAIL);
+        if (ThreadLocalRandom.current().nextDouble() < 0.01) {
+            asyncLogger.info("{\"method\":\"GET\",\"path\":\"/api/orchids\",\"status\":200,\"durationMs\":1.5}");
+        }
+    }
+
+    private static void infoPerRequest(Logger logger) {
+        logger.info("Processing request: {} with Authorization header: {}", "/api/orchids", "present");
+        logger.info("Extracted email from JWT: {}", EMAIL);
+        logger.info("Loading user by username: {}", EMAIL);
+        logger.info("Found user: {}, role: {}", EMAIL, "USER");
+        logger.info("Creating authority: {} for role: {}", "ROLE_USER", "USER");
+        logger.info("Created UserDetails with authorities: {}", AUTHORITIES);
+        logger.info("Resolved user {} with authorities: {}", EMAIL, AUTHORITIES);
+        logger.info("Authentication set in SecurityContext for user: {}", EMAIL);
+    }
+
+    private OutputStreamAppender<ILoggingEvent> discardingAppender(String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t --- %logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
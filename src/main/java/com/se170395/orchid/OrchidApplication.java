@@ -4,6 +4,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
@@ -13,8 +14,15 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnableJpaRepositories(basePackages = "repository")
 public class OrchidApplication   {
 
+	private static final int STARTUP_STEP_CAPACITY = 10000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(OrchidApplication.class, args);
+		SpringApplication application = new SpringApplication(OrchidApplication.class);
+		// -Dstartup.report=true records every startup step; config.StartupTimingReport logs the slowest beans
+		if (Boolean.getBoolean("startup.report")) {
+			application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		}
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,63 @@
+package config;
+
+import cache.TtlCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import metrics.HibernateStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import security.JwtUtil;
+import service.CatalogCache;
+import service.SystemAccountService;
+
+import java.util.List;
+
+/**
+ * Application metrics on top of what Actuator binds itself (http.server.requests, HikariCP pool, JVM GC and
+ * allocation): @Timed controllers, per-request Hibernate statement counts and the in-process caches.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Makes @Timed on OrchidController, OrderController and LoginController record per-method timers
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new HibernateStatementCounter());
+    }
+
+    // Same meter names and tags as Micrometer's own cache binders: cache.size, cache.gets{result}, cache.evictions
+    @Bean
+    public MeterBinder ttlCacheMetrics(SystemAccountService systemAccountService, JwtUtil jwtUtil, CatalogCache catalogCache) {
+        return registry -> {
+            List<TtlCache<?, ?>> caches = List.of(systemAccountService.getPrincipalCache(), jwtUtil.getVerifiedTokenCache(),
+                    catalogCache.allCategories(), catalogCache.categoriesById(), catalogCache.categoriesByName(),
+                    catalogCache.orchidsById());
+            for (TtlCache<?, ?> cache : caches) {
+                Gauge.builder("cache.size", cache, TtlCache::size)
+                        .tag("cache", cache.getName())
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", cache, TtlCache::getHits)
+                        .tag("cache", cache.getName())
+                        .tag("result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", cache, TtlCache::getMisses)
+                        .tag("cache", cache.getName())
+                        .tag("result", "miss")
+                        .register(registry);
+                FunctionCounter.builder("cache.evictions", cache, TtlCache::getEvictions)
+                        .tag("cache", cache.getName())
+                        .register(registry);
+            }
+        };
+    }
+}
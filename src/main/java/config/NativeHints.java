@@ -0,0 +1,77 @@
+package config;
+
+import controller.LoginController;
+import dto.OrchidSummary;
+import dto.OrderSummary;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import pojo.Account;
+import pojo.Category;
+import pojo.Orchid;
+import pojo.Order;
+import pojo.OrderDailyCategoryStat;
+import pojo.OrderDailyStat;
+import pojo.OrderDetail;
+import pojo.OrderStatus;
+import pojo.Role;
+
+/**
+ * GraalVM native-image hints for what Spring AOT cannot infer on its own:
+ * JSON bodies hidden behind ResponseEntity&lt;?&gt; or Map responses, JPQL constructor-expression DTOs,
+ * and the classes jjwt loads by name.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        private static final Class<?>[] JSON_TYPES = {
+                Account.class, Category.class, Orchid.class, Order.class, OrderDetail.class, OrderStatus.class, Role.class,
+                OrderDailyStat.class, OrderDailyCategoryStat.class,
+                OrchidSummary.class, OrderSummary.class,
+                LoginController.LoginRequest.class, LoginController.RegisterRequest.class,
+                LoginController.CreateRoleRequest.class, LoginController.UpdateUserRoleRequest.class,
+                LoginController.UpdateUserStatusRequest.class, LoginController.RefreshTokenRequest.class
+        };
+
+        // Instantiated by Hibernate from "select new dto.X(...)" queries
+        private static final Class<?>[] PROJECTIONS = {OrchidSummary.class, OrderSummary.class};
+
+        // jjwt 0.11 resolves its implementation, key generation and Jackson (de)serializer reflectively
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.crypto.MacProvider",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            for (Class<?> type : JSON_TYPES) {
+                bindings.registerReflectionHints(hints.reflection(), type);
+            }
+            for (Class<?> type : PROJECTIONS) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+            // Boot only registers db/migration/*; our migrations are split per database vendor
+            hints.resources().registerPattern("db/migration/*/*.sql");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one JSON access log line per sampled request to the "access" logger.
+ * Server errors and slow requests are always logged; other requests with probability logging.access.sample-rate.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "logging.access.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${logging.access.sample-rate:1.0}") double sampleRate,
+                                @Value("${logging.access.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("logging.access.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Decided up front so unsampled requests cost one random number and two clock reads
+        boolean sampled = sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // login/register return a CompletableFuture: status and duration are only known once it completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response.getStatus(), start, sampled);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start, sampled);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start, boolean sampled) {
+        long elapsed = System.nanoTime() - start;
+        if (sampled || status >= 500 || elapsed >= slowThresholdNanos) {
+            accessLog.info(format(request, status, elapsed, sampled));
+        }
+    }
+
+    private static String format(HttpServletRequest request, int status, long elapsedNanos, boolean sampled) {
+        StringBuilder line = new StringBuilder(192);
+        line.append("{\"ts\":\"").append(Instant.now()).append('"');
+        line.append(",\"method\":\"").append(request.getMethod()).append('"');
+        line.append(",\"path\":");
+        appendString(line, request.getRequestURI());
+        line.append(",\"status\":").append(status);
+        line.append(",\"durationMs\":").append(elapsedNanos / 1_000_000.0);
+        line.append(",\"auth\":").append(request.getHeader("Authorization") != null);
+        line.append(",\"sampled\":").append(sampled);
+        line.append('}');
+        return line.toString();
+    }
+
+    // The path is client-controlled, so quotes, backslashes and control characters are escaped
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
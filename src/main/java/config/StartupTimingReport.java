@@ -0,0 +1,57 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs the slowest bean instantiations once the application is ready.
+ * Only active when OrchidApplication was started with -Dstartup.report=true, which installs a BufferingApplicationStartup.
+ */
+@Component
+public class StartupTimingReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReport.class);
+    private static final int TOP_STEPS = 20;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent step : timeline.getEvents()) {
+            if ("spring.beans.instantiate".equals(step.getStartupStep().getName())) {
+                beans.add(step);
+            }
+        }
+        beans.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed());
+
+        StringBuilder report = new StringBuilder();
+        for (StartupTimeline.TimelineEvent step : beans.subList(0, Math.min(TOP_STEPS, beans.size()))) {
+            report.append(String.format("%n  %6d ms  %s", step.getDuration().toMillis(), beanName(step.getStartupStep())));
+        }
+        // Durations are inclusive: a bean's time contains the beans it pulled in as dependencies
+        logger.info("Ready in {} ms ({} beans instantiated); slowest beans:{}",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1, beans.size(), report);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
@@ -1,8 +1,11 @@
 package config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -14,37 +17,102 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import security.JwtFilter;
+import security.JwtKeyRing;
 import security.JwtUtil;
+import security.TimedPasswordEncoder;
 import service.SystemAccountService;
+import service.TokenRevocationService;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    // Lazy proxy: SystemAccountService needs this config's PasswordEncoder, so injecting it eagerly only works
+    // when this config happens to be created first
     @Autowired
+    @Lazy
     private SystemAccountService systemAccountService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // BCrypt work factor; each +1 doubles hashing cost (see BCryptBenchmark).
+    // A method parameter, not a field: SystemAccountService needs this bean while this config is still being
+    // injected (circular reference), when @Value and @Autowired fields are not set yet.
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int bcryptStrength,
+                                           MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
+    }
+
+    // Access tokens are short-lived because JwtFilter trusts their claims without reloading the account
+    @Value("${security.jwt.access-token-minutes:15}")
+    private long accessTokenMinutes;
+
+    @Value("${security.jwt.refresh-token-days:7}")
+    private long refreshTokenDays;
+
+    @Value("${security.jwt.verified-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+
+    // Shared keystore so every node signs and verifies with the same keys; empty path = in-memory key (single node)
+    @Value("${security.jwt.keystore.path:}")
+    private String keystorePath;
+
+    @Value("${security.jwt.keystore.password:}")
+    private String keystorePassword;
+
+    @Value("${security.jwt.keystore.reload-seconds:60}")
+    private long keystoreReloadSeconds;
+
+    @Value("${security.jwt.rotation.enabled:false}")
+    private boolean rotationEnabled;
+
+    @Value("${security.jwt.rotation.interval-hours:24}")
+    private long rotationIntervalHours;
+
+    @Value("${security.jwt.rotation.max-key-age-days:8}")
+    private long maxKeyAgeDays;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Lazy(false) // keystore reload and rotation are @Scheduled
+    public JwtKeyRing jwtKeyRing() {
+        if (!StringUtils.hasText(keystorePath)) {
+            return JwtKeyRing.ephemeral();
+        }
+        if (!StringUtils.hasText(keystorePassword)) {
+            throw new IllegalArgumentException("security.jwt.keystore.password is required when a keystore path is set");
+        }
+        // Refresh tokens must still verify after their signing key stops being the active one
+        if (Duration.ofDays(maxKeyAgeDays).compareTo(Duration.ofDays(refreshTokenDays).plusHours(rotationIntervalHours)) < 0) {
+            throw new IllegalArgumentException("security.jwt.rotation.max-key-age-days must cover refresh-token-days plus the rotation interval");
+        }
+        // Two reload periods give every node time to load a new key before anyone signs with it
+        return new JwtKeyRing(Path.of(keystorePath), keystorePassword.toCharArray(), Duration.ofHours(rotationIntervalHours),
+                Duration.ofDays(maxKeyAgeDays), Duration.ofSeconds(keystoreReloadSeconds * 2), rotationEnabled);
     }
 
     @Bean
-    public JwtUtil jwtUtil() {
-        return new JwtUtil();
+    public JwtUtil jwtUtil(MeterRegistry meterRegistry) {
+        return new JwtUtil(jwtKeyRing(), Duration.ofMinutes(accessTokenMinutes).toMillis(),
+                Duration.ofDays(refreshTokenDays).toMillis(), verifiedTokenCacheSize, meterRegistry);
     }
 
     @Bean
-    public JwtFilter jwtFilter() {
-        return new JwtFilter(systemAccountService, jwtUtil());
+    public JwtFilter jwtFilter(JwtUtil jwtUtil) {
+        return new JwtFilter(jwtUtil, tokenRevocationService);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(systemAccountService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -54,7 +122,8 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider,
+                                                   JwtFilter jwtFilter) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -69,7 +138,7 @@ public class WebSecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -7,10 +7,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import pojo.Category;
+import service.CatalogVersion;
 import service.CategoryService;
 
 import java.util.List;
@@ -23,13 +26,23 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
-    @Operation(summary = "Get all categories", description = "Returns list of all categories")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved categories",
-            content = @Content(schema = @Schema(implementation = Category.class)))
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Operation(summary = "Get all categories", description = "Returns list of all categories; supports If-None-Match / If-Modified-Since")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved categories",
+                    content = @Content(schema = @Schema(implementation = Category.class))),
+            @ApiResponse(responseCode = "304", description = "Categories not modified since the given ETag")
+    })
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        // Answer 304 from the catalog version counters, before any catalog query or serialization
+        if (request.checkNotModified(catalogVersion.categoriesETag(), catalogVersion.categoriesLastModified())) {
+            return null;
+        }
         List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categories);
     }
 
     @Operation(summary = "Get category by ID", description = "Returns a specific category by ID")
@@ -6,11 +6,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.micrometer.core.annotation.Timed;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,21 +19,24 @@ import org.springframework.web.bind.annotation.*;
 import pojo.Account;
 import pojo.Role;
 import security.JwtUtil;
+import security.VerifiedToken;
+import service.PasswordWorkExecutor;
 import service.RoleService;
 import service.SystemAccountService;
+import service.TokenRevocationService;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "APIs for user authentication and role management")
+@Timed(value = "controller.requests", histogram = true) // tagged with class and method by TimedAspect
 public class LoginController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private SystemAccountService systemAccountService;
 
@@ -42,15 +46,31 @@ public class LoginController {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private PasswordWorkExecutor passwordWorkExecutor;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Operation(summary = "User login", description = "Authenticates user and returns JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent logins, retry after the given delay")
     })
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(@RequestBody LoginRequest loginRequest) {
+        // BCrypt verification runs on the password pool, not on the request thread
+        try {
+            return passwordWorkExecutor.submit(() -> doLogin(loginRequest));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> doLogin(LoginRequest loginRequest) {
         try {
             // Check if user exists and is active
             Account account = systemAccountService.findByEmail(loginRequest.getEmail());
@@ -68,15 +88,21 @@ public class LoginController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
             }
 
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-            );
+            // Verify against the account loaded above instead of loading it again through the AuthenticationManager
+            if (!systemAccountService.passwordMatches(account, loginRequest.getPassword())) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Login failed");
+                errorResponse.put("message", "Bad credentials");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+            }
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(userDetails);
+            UserDetails userDetails = systemAccountService.toUserDetails(account);
+            String token = jwtUtil.generateAccessToken(account.getAccountId(), userDetails);
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
+            response.put("refreshToken", jwtUtil.generateRefreshToken(account.getAccountId(), account.getEmail()));
+            response.put("expiresIn", jwtUtil.getAccessTokenValiditySeconds());
             response.put("email", userDetails.getUsername());
             response.put("accountName", account.getAccountName());
             response.put("accountId", account.getAccountId());
@@ -98,10 +124,20 @@ public class LoginController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User registered successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "409", description = "User already exists")
+            @ApiResponse(responseCode = "409", description = "User already exists"),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent registrations, retry after the given delay")
     })
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> register(@RequestBody RegisterRequest registerRequest) {
+        // Password hashing runs on the password pool, not on the request thread
+        try {
+            return passwordWorkExecutor.submit(() -> doRegister(registerRequest));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> doRegister(RegisterRequest registerRequest) {
         try {
             // Validate input
             if (registerRequest.getEmail() == null || registerRequest.getEmail().trim().isEmpty()) {
@@ -249,6 +285,8 @@ public class LoginController {
 
             // Update user role
             Account updatedAccount = systemAccountService.updateUserRole(userId, role);
+            // Access tokens carry the old authorities until they expire, so cut them off now
+            tokenRevocationService.revokeAllForAccount(updatedAccount.getAccountId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User role updated successfully");
@@ -272,6 +310,165 @@ public class LoginController {
         }
     }
 
+    @Operation(summary = "Update user status", description = "Activates or deactivates a user account")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User status updated successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PutMapping("/users/{userId}/status")
+    public ResponseEntity<Map<String, Object>> updateUserStatus(@PathVariable Long userId, @RequestBody UpdateUserStatusRequest request) {
+        try {
+            // Validate input
+            if (request.getActive() == null) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Invalid input");
+                errorResponse.put("message", "Active flag is required");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            }
+
+            Account updatedAccount = systemAccountService.updateUserStatus(userId, request.getActive());
+            if (!request.getActive()) {
+                // Access tokens carry active=true until they expire, so cut them off now
+                tokenRevocationService.revokeAllForAccount(updatedAccount.getAccountId());
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "User status updated successfully");
+            response.put("accountId", updatedAccount.getAccountId());
+            response.put("email", updatedAccount.getEmail());
+            response.put("isActive", updatedAccount.isActive());
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "User not found");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Update failed");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    @Operation(summary = "Refresh access token", description = "Issues a new short-lived access token for a valid refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "New access token issued"),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid or expired, or account disabled")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        try {
+            VerifiedToken refreshToken = jwtUtil.verifyRefreshToken(refreshTokenRequest.getRefreshToken());
+            if (tokenRevocationService.isRevoked(refreshToken)) {
+                throw new JwtException("Refresh token has been revoked");
+            }
+
+            // Role and status may have changed since login, so they are read again here (once per access token lifetime)
+            Account account = systemAccountService.findByEmail(refreshToken.getSubject());
+            if (account == null || !account.isActive()) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Account disabled");
+                errorResponse.put("message", "Account not found or deactivated");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+            }
+
+            UserDetails userDetails = systemAccountService.toUserDetails(account);
+            Map<String, Object> response = new HashMap<>();
+            response.put("token", jwtUtil.generateAccessToken(account.getAccountId(), userDetails));
+            response.put("expiresIn", jwtUtil.getAccessTokenValiditySeconds());
+            return ResponseEntity.ok(response);
+        } catch (JwtException | IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid refresh token");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+    }
+
+    @Operation(summary = "Logout", description = "Revokes the refresh token from the body and, when sent, the access token. "
+            + "The access token is optional so clients whose access token already expired can still log out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "No token given, or a token is invalid")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                      @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        try {
+            boolean hasRefreshToken = refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null;
+            VerifiedToken refreshToken = hasRefreshToken ? jwtUtil.verifyRefreshToken(refreshTokenRequest.getRefreshToken()) : null;
+
+            VerifiedToken accessToken = null;
+            if (authHeader != null) {
+                try {
+                    accessToken = jwtUtil.verifyAccessToken(bearerToken(authHeader));
+                } catch (JwtException | IllegalArgumentException e) {
+                    // An expired access token needs no revocation; it only matters when it is the sole token
+                    if (refreshToken == null) {
+                        throw e;
+                    }
+                }
+            } else if (refreshToken == null) {
+                throw new IllegalArgumentException("An access token or a refresh token is required");
+            }
+
+            if (accessToken != null && refreshToken != null && !accessToken.getSubject().equals(refreshToken.getSubject())) {
+                throw new IllegalArgumentException("Refresh token belongs to another account");
+            }
+            if (accessToken != null) {
+                tokenRevocationService.revoke(accessToken);
+            }
+            if (refreshToken != null) {
+                tokenRevocationService.revoke(refreshToken);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Logged out successfully");
+            return ResponseEntity.ok(response);
+        } catch (JwtException | IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid token");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+    }
+
+    @Operation(summary = "Logout from all devices", description = "Revokes every access and refresh token issued to the account so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "Token is invalid")
+    })
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, Object>> logoutAll(@RequestHeader("Authorization") String authHeader) {
+        try {
+            VerifiedToken accessToken = jwtUtil.verifyAccessToken(bearerToken(authHeader));
+            if (tokenRevocationService.isRevoked(accessToken)) {
+                throw new JwtException("Token has been revoked");
+            }
+            Long accountId = accessToken.getAccountId();
+            if (accountId == null) {
+                Account account = systemAccountService.findByEmail(accessToken.getSubject());
+                if (account == null) {
+                    throw new IllegalArgumentException("Account not found");
+                }
+                accountId = account.getAccountId();
+            }
+            tokenRevocationService.revokeAllForAccount(accountId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Logged out from all devices");
+            response.put("accountId", accountId);
+            return ResponseEntity.ok(response);
+        } catch (JwtException | IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid token");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+    }
+
     @Operation(summary = "Validate token", description = "Validates the JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Token is valid"),
@@ -282,9 +479,10 @@ public class LoginController {
         try {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String email = jwtUtil.extractEmail(token);
-                
-                if (email != null && jwtUtil.validateToken(token, email)) {
+                VerifiedToken verified = jwtUtil.verifyAccessToken(token);
+                String email = verified.getSubject();
+
+                if (email != null && !tokenRevocationService.isRevoked(verified)) {
                     Account account = systemAccountService.findByEmail(email);
                     Map<String, Object> response = new HashMap<>();
                     response.put("valid", true);
@@ -381,6 +579,22 @@ public class LoginController {
         return ResponseEntity.ok(response);
     }
 
+    private static String bearerToken(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Bearer token is required");
+        }
+        return authHeader.substring(7);
+    }
+
+    private ResponseEntity<Map<String, Object>> tooManyRequests() {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Too many requests");
+        errorResponse.put("message", "Server is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordWorkExecutor.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     // Inner classes for request/response
     public static class LoginRequest {
         private String email;
@@ -456,4 +670,28 @@ public class LoginController {
             this.roleId = roleId;
         }
     }
+
+    public static class RefreshTokenRequest {
+        private String refreshToken;
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
+    }
+
+    public static class UpdateUserStatusRequest {
+        private Boolean active;
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+    }
 } 
\ No newline at end of file
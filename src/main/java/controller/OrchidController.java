@@ -6,30 +6,87 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.micrometer.core.annotation.Timed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import dto.OrchidSummary;
 import pojo.Orchid;
+import service.CatalogVersion;
 import service.OrchidService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/orchids")
 @Tag(name = "Orchid Management", description = "APIs for managing orchids")
+@Timed(value = "controller.requests", histogram = true) // tagged with class and method by TimedAspect
 public class OrchidController {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("orchidId", "orchidName", "price");
+    
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
     
     @Autowired
     private OrchidService orchidService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
     
-    @Operation(summary = "Get all orchids", description = "Returns list of all orchids")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved orchids",
-            content = @Content(schema = @Schema(implementation = Orchid.class)))
+    @Operation(summary = "Get all orchids",
+            description = "Returns all orchids. With page/size/sort returns one page; with after returns the next keyset page ordered by orchidId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orchids",
+                    content = @Content(schema = @Schema(implementation = OrchidSummary.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
+    })
     @GetMapping
-    public ResponseEntity<List<Orchid>> getAllOrchids() {
-        List<Orchid> orchids = orchidService.getAllOrchids();
-        return ResponseEntity.ok(orchids);
+    public ResponseEntity<?> getAllOrchids(
+            @Parameter(description = "Zero-based page index") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field[,asc|desc]; field is orchidId, orchidName or price") @RequestParam(required = false) String sort,
+            @Parameter(description = "Keyset cursor: return orchids with orchidId greater than this value") @RequestParam(required = false) Long after,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        try {
+            if (after != null) {
+                int pageSize = pageSize(size);
+                return revalidated(keysetResponse(orchidService.getOrchidsAfter(after, pageSize), pageSize));
+            }
+            if (page != null || size != null || sort != null) {
+                return revalidated(pageResponse(orchidService.getOrchids(pageRequest(page, size, sort))));
+            }
+            List<OrchidSummary> orchids = orchidService.getAllOrchids();
+            return revalidated(orchids);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @Operation(summary = "Get orchid by ID", description = "Returns a specific orchid by ID")
@@ -88,19 +145,191 @@ public class OrchidController {
         }
     }
     
-    @Operation(summary = "Get orchids by category", description = "Returns orchids filtered by category")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved orchids by category")
+    @Operation(summary = "Get orchids by category", description = "Returns orchids filtered by category, optionally paged or keyset-paged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orchids by category"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
+    })
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Orchid>> getOrchidsByCategory(@PathVariable Long categoryId) {
-        List<Orchid> orchids = orchidService.getOrchidsByCategory(categoryId);
-        return ResponseEntity.ok(orchids);
+    public ResponseEntity<?> getOrchidsByCategory(@PathVariable Long categoryId,
+                                                  @RequestParam(required = false) Integer page,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) Long after,
+                                                  WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        try {
+            if (after != null) {
+                int pageSize = pageSize(size);
+                return revalidated(keysetResponse(orchidService.getOrchidsByCategoryAfter(categoryId, after, pageSize), pageSize));
+            }
+            if (page != null || size != null || sort != null) {
+                return revalidated(pageResponse(orchidService.getOrchidsByCategory(categoryId, pageRequest(page, size, sort))));
+            }
+            List<OrchidSummary> orchids = orchidService.getOrchidsByCategory(categoryId);
+            return revalidated(orchids);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
-    @Operation(summary = "Search orchids by name", description = "Returns orchids matching the search term")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching orchids")
+    @Operation(summary = "Search orchids by name",
+            description = "Returns orchids whose name or description matches every word of the search term (word prefixes allowed), best match first. "
+                    + "Optionally paged; an explicit sort orders the same matches by that field and the after cursor pages them by orchidId")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching orchids"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
+    })
     @GetMapping("/search")
-    public ResponseEntity<List<Orchid>> searchOrchids(@RequestParam String name) {
-        List<Orchid> orchids = orchidService.searchOrchidsByName(name);
-        return ResponseEntity.ok(orchids);
+    public ResponseEntity<?> searchOrchids(@RequestParam String name,
+                                           @RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(required = false) Long after,
+                                           WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        try {
+            if (after != null) {
+                int pageSize = pageSize(size);
+                return revalidated(keysetResponse(orchidService.searchOrchidsByNameAfter(name, after, pageSize), pageSize));
+            }
+            if (page != null || size != null || sort != null) {
+                return revalidated(pageResponse(orchidService.searchOrchidsByName(name, pageRequest(page, size, sort))));
+            }
+            List<OrchidSummary> orchids = orchidService.searchOrchidsByName(name);
+            return revalidated(orchids);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Filter orchids",
+            description = "Returns one page of orchids matching every given filter: category, natural flag, price range and name fragment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matching orchids"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, paging or sort parameters")
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterOrchids(@RequestParam(required = false) Long categoryId,
+                                           @RequestParam(required = false) Boolean natural,
+                                           @RequestParam(required = false) Double minPrice,
+                                           @RequestParam(required = false) Double maxPrice,
+                                           @RequestParam(required = false) String name,
+                                           @RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size,
+                                           @Parameter(description = "Sort as field[,asc|desc]; field is orchidId, orchidName or price") @RequestParam(required = false) String sort,
+                                           WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        try {
+            return revalidated(pageResponse(orchidService.filterOrchids(categoryId, natural, minPrice, maxPrice, name,
+                    pageRequest(page, size, sort))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Export orchid catalog",
+            description = "Streams every orchid as newline-delimited JSON (one object per line), optionally gzip-encoded")
+    @ApiResponse(responseCode = "200", description = "Catalog streamed successfully")
+    @GetMapping("/export")
+    public void exportOrchids(@Parameter(description = "Compress the stream with gzip (Content-Encoding: gzip)")
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orchids.ndjson\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            long[] written = {0};
+            orchidService.exportOrchids(orchid -> {
+                try {
+                    writer.write(orchid);
+                    // Push rows to the client as we go instead of buffering the whole catalog
+                    if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Sets ETag/Last-Modified and answers 304 from the catalog version counters, before any catalog query or serialization
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(catalogVersion.orchidsETag(), catalogVersion.orchidsLastModified());
+    }
+
+    // Lets browsers keep the payload but revalidate it with If-None-Match on every use
+    private static ResponseEntity<Object> revalidated(Object body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private static PageRequest pageRequest(Integer page, Integer size, String sort) {
+        int pageIndex = page != null ? page : 0;
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (sort == null || sort.isBlank()) {
+            return PageRequest.of(pageIndex, pageSize(size));
+        }
+
+        // sort=field[,asc|desc]
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        // Tie-break on the primary key so pages are stable
+        Sort order = Sort.by(direction, field);
+        if (!"orchidId".equals(field)) {
+            order = order.and(Sort.by(Sort.Direction.ASC, "orchidId"));
+        }
+        return PageRequest.of(pageIndex, pageSize(size), order);
+    }
+
+    private static Map<String, Object> pageResponse(Page<?> result) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", result.getContent());
+        response.put("page", result.getNumber());
+        response.put("size", result.getSize());
+        response.put("totalElements", result.getTotalElements());
+        response.put("totalPages", result.getTotalPages());
+        return response;
+    }
+
+    private static Map<String, Object> keysetResponse(List<OrchidSummary> orchids, int size) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", orchids);
+        response.put("size", size);
+        // A full page means there may be more rows after the last id
+        response.put("nextCursor", orchids.size() == size ? orchids.get(orchids.size() - 1).getOrchidId() : null);
+        return response;
     }
 }
@@ -6,23 +6,38 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import dto.OrderSummary;
 import pojo.Order;
 import pojo.OrderDetail;
 import service.OrderService;
+import service.OrderStatsService;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Order Management", description = "APIs for managing orders")
+@Timed(value = "controller.requests", histogram = true) // tagged with class and method by TimedAspect
 public class OrderController {
+
+    private static final int MAX_BATCH_ITEMS = 500;
+    private static final int DEFAULT_STATS_DAYS = 30;
+    private static final int MAX_STATS_DAYS = 366;
     
     @Autowired
     private OrderService orderService;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
     
     @Operation(summary = "Create new order", description = "Creates a new order")
     @ApiResponses(value = {
@@ -53,16 +68,16 @@ public class OrderController {
     @Operation(summary = "Get user orders", description = "Returns all orders for the current user")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved user orders")
     @GetMapping("/my-orders")
-    public ResponseEntity<List<Order>> getMyOrders() {
-        List<Order> orders = orderService.getOrdersByUser();
+    public ResponseEntity<List<OrderSummary>> getMyOrders() {
+        List<OrderSummary> orders = orderService.getOrdersByUser();
         return ResponseEntity.ok(orders);
     }
     
     @Operation(summary = "Get all orders", description = "Returns all orders")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all orders")
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<List<OrderSummary>> getAllOrders() {
+        List<OrderSummary> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
     
@@ -92,4 +107,48 @@ public class OrderController {
         OrderDetail addedItem = orderService.addOrderItem(orderId, orderDetail);
         return ResponseEntity.ok(addedItem);
     }
+
+    @Operation(summary = "Add items to order in one call", description = "Adds several orchids to an order in a single batched write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items added successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/{orderId}/items:batch")
+    public ResponseEntity<List<OrderDetail>> addOrderItems(@PathVariable Long orderId, @RequestBody List<OrderDetail> orderDetails) {
+        if (orderDetails.size() > MAX_BATCH_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<OrderDetail> addedItems = orderService.addOrderItems(orderId, orderDetails);
+            return ResponseEntity.ok(addedItems);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get order statistics",
+            description = "Returns order count and revenue per day and status, and quantity and revenue per category, read from daily rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved order statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range (from after to, or longer than 366 days)")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getOrderStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_STATS_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_STATS_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderStatsService.getStats(start, end));
+    }
+
+    @Operation(summary = "Rebuild order statistics", description = "Recomputes the daily rollups from all orders; also runs nightly")
+    @ApiResponse(responseCode = "200", description = "Rollups rebuilt")
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildOrderStats() {
+        return ResponseEntity.ok(orderStatsService.rebuild());
+    }
 }
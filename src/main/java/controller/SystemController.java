@@ -0,0 +1,80 @@
+package controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import security.JwtKeyRing;
+import security.JwtUtil;
+import service.CatalogCache;
+import service.OrchidSearchIndex;
+import service.PasswordWorkExecutor;
+import service.SystemAccountService;
+import service.TokenRevocationService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+@Tag(name = "System", description = "Runtime statistics for caches and internal components")
+public class SystemController {
+
+    @Autowired
+    private SystemAccountService systemAccountService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private OrchidSearchIndex orchidSearchIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private PasswordWorkExecutor passwordWorkExecutor;
+
+    @Operation(summary = "Get cache statistics", description = "Returns size, hit/miss and eviction counters for in-process caches")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics")
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("principals", systemAccountService.principalCacheStats());
+        response.put("verifiedTokens", jwtUtil.verifiedTokenCacheStats());
+        response.put("catalog", catalogCache.stats());
+        response.put("revocations", tokenRevocationService.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get search index statistics", description = "Returns orchid search index size and query latency percentiles")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved search statistics")
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> getSearchStats() {
+        return ResponseEntity.ok(orchidSearchIndex.stats());
+    }
+
+    @Operation(summary = "Get password pool statistics", description = "Returns queue depth, rejections and BCrypt latency of the password worker pool")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved password pool statistics")
+    @GetMapping("/password-pool")
+    public ResponseEntity<Map<String, Object>> getPasswordPoolStats() {
+        return ResponseEntity.ok(passwordWorkExecutor.stats());
+    }
+
+    @Operation(summary = "Get JWT key ring", description = "Returns the key ids in the JWT key ring and the one currently signing tokens")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved JWT key ring")
+    @GetMapping("/jwt-keys")
+    public ResponseEntity<Map<String, Object>> getJwtKeys() {
+        return ResponseEntity.ok(jwtKeyRing.stats());
+    }
+}
@@ -0,0 +1,55 @@
+package dto;
+
+import pojo.Category;
+import pojo.Orchid;
+
+// Orchid as shown in list views; the description is only returned by GET /api/orchids/{id}
+public class OrchidSummary {
+
+    private final Long orchidId;
+    private final String orchidName;
+    private final String orchidUrl;
+    private final double price;
+    private final Boolean natural;
+    private final Category category;
+
+    public OrchidSummary(Long orchidId, String orchidName, String orchidUrl, double price, Boolean natural,
+                         Long categoryId, String categoryName) {
+        this.orchidId = orchidId;
+        this.orchidName = orchidName;
+        this.orchidUrl = orchidUrl;
+        this.price = price;
+        this.natural = natural;
+        this.category = new Category(categoryId, categoryName);
+    }
+
+    public static OrchidSummary from(Orchid orchid) {
+        Category category = orchid.getCategory();
+        return new OrchidSummary(orchid.getOrchidId(), orchid.getOrchidName(), orchid.getOrchidUrl(), orchid.getPrice(),
+                orchid.getNatural(), category.getCategoryId(), category.getCategoryName());
+    }
+
+    public Long getOrchidId() {
+        return orchidId;
+    }
+
+    public String getOrchidName() {
+        return orchidName;
+    }
+
+    public String getOrchidUrl() {
+        return orchidUrl;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public Boolean getNatural() {
+        return natural;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,63 @@
+package dto;
+
+import pojo.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+// Order as shown in list views: the owner's identity without the rest of the account (password hash included)
+public class OrderSummary {
+
+    private final Long id;
+    private final Date orderDate;
+    private final OrderStatus orderStatus;
+    private final BigDecimal totalAmount;
+    private final Long accountId;
+    private final String accountEmail;
+    private final String accountName;
+    private final String roleName;
+
+    public OrderSummary(Long id, Date orderDate, OrderStatus orderStatus, BigDecimal totalAmount,
+                        Long accountId, String accountEmail, String accountName, String roleName) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.orderStatus = orderStatus;
+        this.totalAmount = totalAmount;
+        this.accountId = accountId;
+        this.accountEmail = accountEmail;
+        this.accountName = accountName;
+        this.roleName = roleName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Date getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountEmail() {
+        return accountEmail;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+}
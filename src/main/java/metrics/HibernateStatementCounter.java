@@ -0,0 +1,57 @@
+package metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current request; StatementMetricsFilter opens a count per
+ * request and records it, which makes N+1 regressions visible per endpoint. Work handed to another thread
+ * (e.g. login/register on the password pool) is counted when wrapped with {@link #propagate}.
+ */
+public class HibernateStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = CURRENT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    // Starts counting on this thread; the returned counter keeps receiving statements from propagated tasks
+    public static AtomicInteger begin() {
+        AtomicInteger count = new AtomicInteger();
+        CURRENT.set(count);
+        return count;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // Makes statements run by the task on another thread count towards the calling thread's request
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger count = CURRENT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(count);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
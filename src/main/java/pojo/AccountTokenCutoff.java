@@ -0,0 +1,49 @@
+package pojo;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+// Tokens of the account issued at or before notBefore are rejected (logout from all devices, deactivation)
+@Entity
+@Table(name = "account_token_cutoffs")
+public class AccountTokenCutoff {
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Date notBefore;
+
+    @Column(nullable = false)
+    private Date updatedAt;
+
+    public AccountTokenCutoff() {
+    }
+
+    public AccountTokenCutoff(Long accountId, Date notBefore, Date updatedAt) {
+        this.accountId = accountId;
+        this.notBefore = notBefore;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Date getNotBefore() {
+        return notBefore;
+    }
+
+    public void setNotBefore(Date notBefore) {
+        this.notBefore = notBefore;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
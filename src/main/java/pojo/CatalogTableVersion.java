@@ -0,0 +1,36 @@
+package pojo;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+// Change counter of one catalog table ("categories" or "orchids"), bumped in the database on every write
+@Entity
+@Table(name = "catalog_versions")
+public class CatalogTableVersion {
+
+    @Id
+    @Column(length = 20)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Date modifiedAt;
+
+    public CatalogTableVersion() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Date getModifiedAt() {
+        return modifiedAt;
+    }
+}
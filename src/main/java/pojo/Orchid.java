@@ -1,13 +1,18 @@
 package pojo;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Orchid {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orchid_seq")
+    @SequenceGenerator(name = "orchid_seq", sequenceName = "orchid_seq", allocationSize = 50)
     private Long orchidId;
 
     private Boolean isNatural;
@@ -1,6 +1,7 @@
 package pojo;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.Date;
@@ -8,11 +9,13 @@ import java.util.Date;
 @Entity
 @Table
         (name = "orders")
+// Only changed columns are written, so a status update never rewrites total_amount
+@DynamicUpdate
 public class Order {
 
     @Id
-    @GeneratedValue(strategy =
-            GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long id;
 
 
@@ -0,0 +1,52 @@
+package pojo;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily rollup of sold quantity and revenue per orchid category, maintained incrementally by OrderStatsService
+@Entity
+@Table(name = "order_daily_category_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"stat_date", "category_id"}))
+public class OrderDailyCategoryStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    public OrderDailyCategoryStat() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,53 @@
+package pojo;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily rollup of orders per status, maintained incrementally by OrderStatsService
+@Entity
+@Table(name = "order_daily_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"stat_date", "order_status"}))
+public class OrderDailyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", length = 20, nullable = false)
+    private OrderStatus orderStatus;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    public OrderDailyStat() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
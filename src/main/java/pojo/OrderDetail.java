@@ -6,8 +6,10 @@ import jakarta.persistence.*;
 @Table(name = "order_details")
 public class OrderDetail {
 
+    // Pooled sequence so a batch of details needs one sequence call per 50 rows and can be insert-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_detail_seq")
+    @SequenceGenerator(name = "order_detail_seq", sequenceName = "order_detail_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -18,7 +20,7 @@ public class OrderDetail {
 
     private int quantity;
 
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name= "order_id", nullable = false)
     private Order order;
 
@@ -0,0 +1,56 @@
+package pojo;
+
+import jakarta.persistence.*;
+
+import java.util.Date;
+
+// A single revoked JWT, identified by its jti claim; rows are purged once the token would have expired anyway
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64, nullable = false, unique = true)
+    private String jti;
+
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Date expiresAt;
+
+    @Column(nullable = false)
+    private Date revokedAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, Long accountId, Date expiresAt, Date revokedAt) {
+        this.jti = jti;
+        this.accountId = accountId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Date getRevokedAt() {
+        return revokedAt;
+    }
+}
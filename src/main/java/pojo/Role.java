@@ -12,6 +12,7 @@ public class Role {
             strategy = GenerationType.AUTO,
             generator = "role_generator"
     )
+    @SequenceGenerator(name = "role_generator", sequenceName = "role_generator", allocationSize = 50)
         private Long roleId;
 
     @Column(length = 50, nullable = false, unique = true)
@@ -1,8 +1,14 @@
 package repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pojo.Account;
 
 public interface AccountRepo extends JpaRepository<Account, Long> {
     Account findByEmail(String email);
+
+    // Account and its role in one round trip
+    @Query("select a from Account a left join fetch a.role where a.email = :email")
+    Account findByEmailWithRole(@Param("email") String email);
 }
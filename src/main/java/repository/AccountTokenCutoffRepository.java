@@ -0,0 +1,11 @@
+package repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import pojo.AccountTokenCutoff;
+
+import java.util.Date;
+import java.util.List;
+
+public interface AccountTokenCutoffRepository extends JpaRepository<AccountTokenCutoff, Long> {
+    List<AccountTokenCutoff> findByUpdatedAtGreaterThanEqual(Date since);
+}
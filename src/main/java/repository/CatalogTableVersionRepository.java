@@ -0,0 +1,15 @@
+package repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pojo.CatalogTableVersion;
+
+import java.util.Date;
+
+public interface CatalogTableVersionRepository extends JpaRepository<CatalogTableVersion, String> {
+    @Modifying
+    @Query("update CatalogTableVersion v set v.version = v.version + 1, v.modifiedAt = :now where v.name = :name")
+    int increment(@Param("name") String name, @Param("now") Date now);
+}
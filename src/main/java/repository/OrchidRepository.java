@@ -1,11 +1,79 @@
 package repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import dto.OrchidSummary;
 import pojo.Orchid;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface OrchidRepository extends JpaRepository<Orchid, Long> {
+public interface OrchidRepository extends JpaRepository<Orchid, Long>, JpaSpecificationExecutor<Orchid> {
     public Orchid findByOrchidName(String orchidName);
     public List<Orchid> findByCategoryCategoryId(Long categoryId);
     public List<Orchid> findByOrchidNameContainingIgnoreCase(String name);
+
+    // List views: select only the summary columns into DTOs, nothing enters the persistence context
+    String SUMMARY = "select new dto.OrchidSummary(o.orchidId, o.orchidName, o.orchidUrl, o.price, o.isNatural, c.categoryId, c.categoryName)"
+            + " from Orchid o join o.category c";
+
+    @Query(SUMMARY + " order by o.orchidId")
+    public List<OrchidSummary> findAllSummaries();
+
+    @Query(SUMMARY + " where c.categoryId = :categoryId order by o.orchidId")
+    public List<OrchidSummary> findSummariesByCategory(@Param("categoryId") Long categoryId);
+
+    @Query(SUMMARY + " where upper(o.orchidName) like upper(concat('%', :name, '%')) order by o.orchidId")
+    public List<OrchidSummary> findSummariesByName(@Param("name") String name);
+
+    @Query(SUMMARY + " where o.orchidId in :ids")
+    public List<OrchidSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Sorted page of the given ids; callers know the total and bind at most 1000 ids
+    @Query(SUMMARY + " where o.orchidId in :ids")
+    public List<OrchidSummary> findSummariesByIds(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+    @Query(value = SUMMARY, countQuery = "select count(o) from Orchid o")
+    public Page<OrchidSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY + " where c.categoryId = :categoryId",
+            countQuery = "select count(o) from Orchid o where o.category.categoryId = :categoryId")
+    public Page<OrchidSummary> findSummariesByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = SUMMARY + " where upper(o.orchidName) like upper(concat('%', :name, '%'))",
+            countQuery = "select count(o) from Orchid o where upper(o.orchidName) like upper(concat('%', :name, '%'))")
+    public Page<OrchidSummary> findSummariesByName(@Param("name") String name, Pageable pageable);
+
+    // Keyset pagination: seek past the last seen id instead of scanning an OFFSET
+    @Query(SUMMARY + " where o.orchidId > :after order by o.orchidId")
+    public List<OrchidSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    @Query(SUMMARY + " where c.categoryId = :categoryId and o.orchidId > :after order by o.orchidId")
+    public List<OrchidSummary> findSummariesByCategoryAfter(@Param("categoryId") Long categoryId, @Param("after") Long after, Limit limit);
+
+    @Query(SUMMARY + " where upper(o.orchidName) like upper(concat('%', :name, '%')) and o.orchidId > :after order by o.orchidId")
+    public List<OrchidSummary> findSummariesByNameAfter(@Param("name") String name, @Param("after") Long after, Limit limit);
+
+    // Filtered listing (see OrchidSpecifications); the category is joined in the page query, not loaded per row
+    @Override
+    @EntityGraph(attributePaths = "category")
+    public Page<Orchid> findAll(Specification<Orchid> spec, Pageable pageable);
+
+    // Streams the whole catalog with its category, fetching rows from the driver in chunks; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Orchid o join fetch o.category order by o.orchidId")
+    public Stream<Orchid> streamAll();
 }
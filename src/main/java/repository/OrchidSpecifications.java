@@ -0,0 +1,50 @@
+package repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import pojo.Orchid;
+
+/**
+ * Composable filters for {@link OrchidRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ * Each factory returns null for a missing value, which Specification.where/and skip.
+ */
+public final class OrchidSpecifications {
+
+    private OrchidSpecifications() {
+    }
+
+    public static Specification<Orchid> inCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category").get("categoryId"), categoryId);
+    }
+
+    public static Specification<Orchid> natural(Boolean natural) {
+        if (natural == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("isNatural"), natural);
+    }
+
+    public static Specification<Orchid> priceAtLeast(Double minPrice) {
+        if (minPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Orchid> priceAtMost(Double maxPrice) {
+        if (maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Orchid> nameContains(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + name.trim().toUpperCase() + "%";
+        return (root, query, cb) -> cb.like(cb.upper(root.get("orchidName")), pattern);
+    }
+}
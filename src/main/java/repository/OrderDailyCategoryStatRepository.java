@@ -0,0 +1,38 @@
+package repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pojo.OrderDailyCategoryStat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderDailyCategoryStatRepository extends JpaRepository<OrderDailyCategoryStat, Long> {
+    // Per-category totals over a date range: [categoryId, quantity, revenue]
+    @Query("select s.categoryId, sum(s.quantity), sum(s.revenue) from OrderDailyCategoryStat s"
+            + " where s.statDate between :from and :to group by s.categoryId order by sum(s.revenue) desc")
+    List<Object[]> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("update OrderDailyCategoryStat s set s.quantity = s.quantity + :quantity, s.revenue = s.revenue + :revenue"
+            + " where s.statDate = :statDate and s.categoryId = :categoryId")
+    int increment(@Param("statDate") LocalDate statDate, @Param("categoryId") Long categoryId,
+                  @Param("quantity") long quantity, @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from order_daily_category_stats")
+    int deleteAllRows();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into order_daily_category_stats (stat_date, category_id, quantity, revenue)"
+            + " select cast(o.order_date as date), c.category_id, sum(d.quantity), sum(d.price * d.quantity)"
+            + " from order_details d"
+            + " join orders o on d.order_id = o.id"
+            + " join orchid c on d.orchid_id = c.orchid_id"
+            + " where o.order_date is not null"
+            + " group by cast(o.order_date as date), c.category_id")
+    int rebuildFromOrderDetails();
+}
@@ -0,0 +1,34 @@
+package repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pojo.OrderDailyStat;
+import pojo.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderDailyStatRepository extends JpaRepository<OrderDailyStat, Long> {
+    List<OrderDailyStat> findByStatDateBetweenOrderByStatDateAsc(LocalDate from, LocalDate to);
+
+    // Plain UPDATE, portable across SQL Server and H2; OrderStatsService makes sure the row exists first
+    @Modifying
+    @Query("update OrderDailyStat s set s.orderCount = s.orderCount + :count, s.totalAmount = s.totalAmount + :amount"
+            + " where s.statDate = :statDate and s.orderStatus = :status")
+    int increment(@Param("statDate") LocalDate statDate, @Param("status") OrderStatus status,
+                  @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from order_daily_stats")
+    int deleteAllRows();
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into order_daily_stats (stat_date, order_status, order_count, total_amount)"
+            + " select cast(order_date as date), order_status, count(*), coalesce(sum(total_amount), 0)"
+            + " from orders where order_date is not null and order_status is not null"
+            + " group by cast(order_date as date), order_status")
+    int rebuildFromOrders();
+}
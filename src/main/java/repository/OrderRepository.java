@@ -1,9 +1,42 @@
 package repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import dto.OrderSummary;
 import pojo.Order;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Orders are always loaded together with their account and role in a single joined select
+    @Override
+    @EntityGraph(attributePaths = {"account", "account.role"})
+    List<Order> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"account", "account.role"})
+    Optional<Order> findById(Long id);
+
+    @EntityGraph(attributePaths = {"account", "account.role"})
     List<Order> findByAccountAccountId(Long accountId);
+
+    // List views: order columns plus the owner's identity, selected straight into DTOs
+    String SUMMARY = "select new dto.OrderSummary(o.id, o.orderDate, o.orderStatus, o.totalAmount,"
+            + " a.accountId, a.email, a.accountName, r.roleName)"
+            + " from Order o join o.account a left join a.role r";
+
+    @Query(SUMMARY + " order by o.id")
+    List<OrderSummary> findAllSummaries();
+
+    @Query(SUMMARY + " where a.email = :email order by o.id")
+    List<OrderSummary> findSummariesByAccountEmail(@Param("email") String email);
+
+    // Server-side increment so concurrent item additions never overwrite each other's total
+    @Modifying(flushAutomatically = true)
+    @Query("update Order o set o.totalAmount = coalesce(o.totalAmount, 0) + :amount where o.id = :id")
+    int addToTotalAmount(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
@@ -0,0 +1,23 @@
+package repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import pojo.RevokedToken;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    boolean existsByJti(String jti);
+
+    List<RevokedToken> findByExpiresAtAfter(Date now);
+
+    // Incremental refresh: rows revoked since the previous poll (minus an overlap window)
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Date since, Date now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
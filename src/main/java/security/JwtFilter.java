@@ -1,12 +1,15 @@
 package security;
 
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,57 +18,74 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import service.SystemAccountService;
+import service.TokenRevocationService;
 
 import java.io.IOException;
+import java.util.List;
 
 public class JwtFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
 
-    private final SystemAccountService systemAccountService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtFilter(SystemAccountService systemAccountService, JwtUtil jwtUtil) {
-        this.systemAccountService = systemAccountService;
+    public JwtFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
-        String requestURI = request.getRequestURI();
-        
-        logger.info("Processing request: {} with Authorization header: {}", requestURI, authorizationHeader != null ? "present" : "missing");
+        // Per-request details are DEBUG only; RequestLoggingFilter writes the (sampled) access log
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing request: {} with Authorization header: {}", request.getRequestURI(),
+                    authorizationHeader != null ? "present" : "missing");
+        }
 
         String email = null;
-        String jwt = null;
+        VerifiedToken token = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            email = jwtUtil.extractEmail(jwt);
-            logger.info("Extracted email from JWT: {}", email);
+            String jwt = authorizationHeader.substring(7);
+            try {
+                // Signature and expiry are checked once here; repeated tokens are served from the verified-token cache
+                token = jwtUtil.verifyAccessToken(jwt);
+                // In-memory check (Bloom filter + exact set), no query per request
+                if (tokenRevocationService.isRevoked(token)) {
+                    throw new JwtException("Token has been revoked");
+                }
+                if (!token.hasAuthorities()) {
+                    throw new JwtException("Token has no authorities claim");
+                }
+                email = token.getSubject();
+                logger.debug("Extracted email from JWT: {}", email);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("JWT token validation failed: {}", e.getMessage());
+            }
         }
 
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, email)) {
-                logger.info("JWT token is valid for email: {}", email);
-                try {
-                    // Load user details from database to get proper authorities
-                    UserDetails userDetails = systemAccountService.loadUserByUsername(email);
-                    logger.info("Loaded user details for {} with authorities: {}", email, userDetails.getAuthorities());
-                    
-                    AbstractAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    logger.info("Authentication set in SecurityContext for user: {}", email);
-                } catch (Exception e) {
-                    logger.error("Error loading user details for email: {}", email, e);
+            try {
+                // Authorities and the active flag come from the verified claims: no database access per request
+                UserDetails userDetails = fromClaims(token);
+                logger.debug("Resolved user {} with authorities: {}", email, userDetails.getAuthorities());
+
+                if (!userDetails.isEnabled()) {
+                    logger.debug("Account is deactivated for email: {}", email);
+                    filterChain.doFilter(request, response);
+                    return;
                 }
-            } else {
-                logger.warn("JWT token validation failed for email: {}", email);
+
+                AbstractAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                logger.debug("Authentication set in SecurityContext for user: {}", email);
+            } catch (Exception e) {
+                logger.error("Error loading user details for email: {}", email, e);
             }
         } else if (email == null) {
             logger.debug("No email extracted from JWT token");
@@ -75,4 +95,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static UserDetails fromClaims(VerifiedToken token) {
+        List<GrantedAuthority> authorities = token.getAuthorities().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new User(token.getSubject(), "", token.isActive(), true, true, true, authorities);
+    }
+}
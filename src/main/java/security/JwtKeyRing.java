@@ -0,0 +1,322 @@
+package security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JWT signing keys shared by every node through a PKCS12 keystore file (for example a mounted secret volume).
+ * Tokens carry the key id in their "kid" header. Every key in the keystore verifies; the newest key that has
+ * been in the file for at least the activation delay signs, so other nodes have loaded it before it is used.
+ * <p>
+ * Key ids have the form {@code k<epochMillis>-<hex>}; the timestamp orders keys for activation and pruning.
+ * Without a keystore path the ring holds one random in-memory key, which only suits a single node.
+ */
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final String KEY_ALGORITHM = SignatureAlgorithm.HS256.getJcaName();
+    // Tokens with unknown key ids re-read the keystore at most this often, so forged kids cannot force constant reads
+    private static final long UNKNOWN_KID_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path keystorePath;
+    private final char[] password;
+    private final Duration rotationInterval;
+    private final Duration maxKeyAge;
+    private final Duration activationDelay;
+    private final boolean rotationEnabled;
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile KeySet keySet;
+    // SHA-256 of the keystore bytes last loaded; a replaced file with an unchanged mtime still differs here
+    private volatile byte[] loadedDigest;
+    private final AtomicLong lastUnknownKidCheck = new AtomicLong(System.nanoTime() - UNKNOWN_KID_RECHECK_NANOS);
+
+    public JwtKeyRing(Path keystorePath, char[] password, Duration rotationInterval, Duration maxKeyAge,
+                      Duration activationDelay, boolean rotationEnabled) {
+        this.keystorePath = keystorePath;
+        this.password = password;
+        this.rotationInterval = rotationInterval;
+        this.maxKeyAge = maxKeyAge;
+        this.activationDelay = activationDelay;
+        this.rotationEnabled = rotationEnabled;
+
+        if (keystorePath == null) {
+            SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+            this.keySet = KeySet.of(Map.of(newKeyId(System.currentTimeMillis()), key), Duration.ZERO);
+            return;
+        }
+        if (!Files.exists(keystorePath)) {
+            withFileLock(() -> {
+                if (!Files.exists(keystorePath)) {
+                    Map<String, SecretKey> keys = new LinkedHashMap<>();
+                    keys.put(newKeyId(System.currentTimeMillis()), Keys.secretKeyFor(SignatureAlgorithm.HS256));
+                    store(keys);
+                    logger.info("Created JWT keystore {}", keystorePath);
+                }
+            });
+        }
+        reload();
+    }
+
+    // Single-node ring with one random key; tokens do not survive a restart
+    public static JwtKeyRing ephemeral() {
+        return new JwtKeyRing(null, null, Duration.ZERO, Duration.ZERO, Duration.ZERO, false);
+    }
+
+    public SigningKey signingKey() {
+        KeySet current = keySet;
+        return new SigningKey(current.activeKid, current.keys.get(current.activeKid));
+    }
+
+    /**
+     * Returns the key for a token's "kid" header. An unknown id triggers an early reload when the keystore content
+     * has changed, since another node may have just rotated it; such checks run at most once per second.
+     *
+     * @throws JwtException if the token has no key id or the key is not in the ring
+     */
+    public SecretKey verificationKey(String kid) {
+        if (kid == null) {
+            throw new JwtException("Token has no key id");
+        }
+        SecretKey key = keySet.keys.get(kid);
+        if (key == null && keystorePath != null && unknownKidCheckDue() && keystoreChanged()) {
+            reload();
+            key = keySet.keys.get(kid);
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.keystore.reload-seconds:60}",
+            initialDelayString = "${security.jwt.keystore.reload-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void reloadIfChanged() {
+        if (keystorePath == null) {
+            return;
+        }
+        if (keystoreChanged()) {
+            reload();
+        } else {
+            // Same file, but a key may have passed its activation delay
+            keySet = KeySet.of(keySet.keys, activationDelay);
+        }
+    }
+
+    public synchronized void reload() {
+        try {
+            byte[] content = Files.readAllBytes(keystorePath);
+            Map<String, SecretKey> keys = load(content);
+            if (keys.isEmpty()) {
+                logger.error("JWT keystore {} has no secret keys, keeping the current key set", keystorePath);
+                return;
+            }
+            KeySet loaded = KeySet.of(keys, activationDelay);
+            if (keySet == null || !loaded.activeKid.equals(keySet.activeKid) || loaded.keys.size() != keySet.keys.size()) {
+                logger.info("Loaded {} JWT keys from {}, signing with {}", loaded.keys.size(), keystorePath, loaded.activeKid);
+            }
+            keySet = loaded;
+            loadedDigest = digest(content);
+        } catch (IOException | GeneralSecurityException e) {
+            if (keySet == null) {
+                throw new IllegalStateException("Cannot load JWT keystore " + keystorePath, e);
+            }
+            logger.error("Cannot reload JWT keystore {}, keeping the current key set", keystorePath, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.rotation.check-minutes:10}", timeUnit = TimeUnit.MINUTES)
+    public void rotateIfDue() {
+        if (keystorePath == null || !rotationEnabled) {
+            return;
+        }
+        rotate(false);
+    }
+
+    /**
+     * Adds a new key to the shared keystore (when the newest one is older than the rotation interval, or always
+     * when forced) and drops keys older than the maximum key age. Nodes coordinate through a lock file, so only
+     * one of them rotates at a time.
+     */
+    public void rotate(boolean force) {
+        if (keystorePath == null) {
+            return;
+        }
+        withFileLock(() -> {
+            Map<String, SecretKey> keys = load();
+            long now = System.currentTimeMillis();
+            long newest = keys.keySet().stream().mapToLong(JwtKeyRing::createdMillis).max().orElse(0);
+            if (!force && now - newest < rotationInterval.toMillis()) {
+                return;
+            }
+            // Strictly newer than every existing key, so it always sorts last
+            String kid = newKeyId(Math.max(now, newest + 1));
+            keys.put(kid, Keys.secretKeyFor(SignatureAlgorithm.HS256));
+            keys.entrySet().removeIf(e -> {
+                long created = createdMillis(e.getKey());
+                // Keys without a timestamp in their id were added by hand and are never pruned
+                return created > 0 && !e.getKey().equals(kid) && now - created > maxKeyAge.toMillis();
+            });
+            store(keys);
+            logger.info("Rotated JWT keys: added {}, {} keys in ring", kid, keys.size());
+        });
+        reload();
+    }
+
+    public Map<String, Object> stats() {
+        KeySet current = keySet;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("source", keystorePath != null ? keystorePath.toString() : "in-memory");
+        stats.put("activeKid", current.activeKid);
+        stats.put("kids", new ArrayList<>(current.keys.keySet()));
+        stats.put("rotationEnabled", rotationEnabled);
+        return stats;
+    }
+
+    private Map<String, SecretKey> load() throws IOException, GeneralSecurityException {
+        return load(Files.readAllBytes(keystorePath));
+    }
+
+    private Map<String, SecretKey> load(byte[] content) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(new ByteArrayInputStream(content), password);
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (keyStore.isKeyEntry(alias) && keyStore.getKey(alias, password) instanceof SecretKey key) {
+                // Re-wrap so jjwt sees the HMAC algorithm name whatever the keystore recorded
+                keys.put(alias, new SecretKeySpec(key.getEncoded(), KEY_ALGORITHM));
+            }
+        }
+        return keys;
+    }
+
+    // Writes to a temporary file and moves it into place, so readers never see a half-written keystore
+    private void store(Map<String, SecretKey> keys) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, password);
+        KeyStore.PasswordProtection protection = new KeyStore.PasswordProtection(password);
+        for (Map.Entry<String, SecretKey> e : keys.entrySet()) {
+            keyStore.setEntry(e.getKey(), new KeyStore.SecretKeyEntry(e.getValue()), protection);
+        }
+        Path temp = keystorePath.resolveSibling(keystorePath.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            keyStore.store(out, password);
+        }
+        Files.move(temp, keystorePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void withFileLock(KeystoreAction action) {
+        Path lockPath = keystorePath.resolveSibling(keystorePath.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            action.run();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot update JWT keystore " + keystorePath, e);
+        }
+    }
+
+    // Compares content rather than mtime: coarse timestamps or a copied file can keep the mtime across a change
+    private boolean keystoreChanged() {
+        try {
+            return !MessageDigest.isEqual(digest(Files.readAllBytes(keystorePath)), loadedDigest);
+        } catch (IOException | GeneralSecurityException e) {
+            logger.error("Cannot read JWT keystore {}", keystorePath, e);
+            return false;
+        }
+    }
+
+    private boolean unknownKidCheckDue() {
+        long last = lastUnknownKidCheck.get();
+        long now = System.nanoTime();
+        return now - last >= UNKNOWN_KID_RECHECK_NANOS && lastUnknownKidCheck.compareAndSet(last, now);
+    }
+
+    private static byte[] digest(byte[] content) throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(content);
+    }
+
+    private String newKeyId(long createdMillis) {
+        byte[] suffix = new byte[4];
+        random.nextBytes(suffix);
+        return "k" + createdMillis + "-" + HexFormat.of().formatHex(suffix);
+    }
+
+    static long createdMillis(String kid) {
+        int dash = kid.indexOf('-');
+        if (!kid.startsWith("k") || dash < 2) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(kid.substring(1, dash));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public record SigningKey(String kid, SecretKey key) {
+    }
+
+    private interface KeystoreAction {
+        void run() throws IOException, GeneralSecurityException;
+    }
+
+    private static final class KeySet {
+        private final Map<String, SecretKey> keys;
+        private final String activeKid;
+
+        private KeySet(Map<String, SecretKey> keys, String activeKid) {
+            this.keys = keys;
+            this.activeKid = activeKid;
+        }
+
+        static KeySet of(Map<String, SecretKey> keys, Duration activationDelay) {
+            List<String> kids = new ArrayList<>(keys.keySet());
+            kids.sort(Comparator.comparingLong(JwtKeyRing::createdMillis));
+            long activeBefore = System.currentTimeMillis() - activationDelay.toMillis();
+            // Newest key that every node has had time to load; the newest overall if none is old enough yet
+            String active = kids.get(kids.size() - 1);
+            for (int i = kids.size() - 1; i >= 0; i--) {
+                if (createdMillis(kids.get(i)) <= activeBefore) {
+                    active = kids.get(i);
+                    break;
+                }
+            }
+            Map<String, SecretKey> ordered = new LinkedHashMap<>();
+            for (String kid : kids) {
+                ordered.put(kid, keys.get(kid));
+            }
+            return new KeySet(Collections.unmodifiableMap(ordered), active);
+        }
+    }
+}
@@ -1,31 +1,146 @@
 package security;
 
+import cache.TtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 public class JwtUtil {
 
-    private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    public static final String CLAIM_TYPE = "typ";
+    public static final String CLAIM_ACCOUNT_ID = "accountId";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_ACTIVE = "active";
+    // Issue time in milliseconds; the standard iat claim only has second precision
+    public static final String CLAIM_ISSUED_AT_MILLIS = "iatMs";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private static final long DEFAULT_ACCESS_VALIDITY_MILLIS = 1000 * 60 * 15; // 15 minutes
+    private static final long DEFAULT_REFRESH_VALIDITY_MILLIS = 1000L * 60 * 60 * 24 * 7; // 7 days
+    private static final int DEFAULT_VERIFIED_CACHE_SIZE = 10000;
+
+    private final long accessValidityMillis;
+    private final long refreshValidityMillis;
+
+    // Signs with the ring's active key and verifies with whichever key the token's "kid" header names
+    private final JwtKeyRing keyRing;
+
+    private final JwtParser parser;
+
+    // Recently verified tokens keyed by SHA-256 of the compact token, each entry expires with its token
+    private final TtlCache<String, VerifiedToken> verifiedTokens;
+
+    // Parse covers signature verification and only runs on verified-token cache misses
+    private final Timer parseTimer;
+    private final Timer signAccessTimer;
+    private final Timer signRefreshTimer;
+
+    public JwtUtil() {
+        this(DEFAULT_VERIFIED_CACHE_SIZE);
+    }
+
+    public JwtUtil(int verifiedCacheSize) {
+        this(JwtKeyRing.ephemeral(), DEFAULT_ACCESS_VALIDITY_MILLIS, DEFAULT_REFRESH_VALIDITY_MILLIS, verifiedCacheSize);
+    }
+
+    public JwtUtil(JwtKeyRing keyRing, long accessValidityMillis, long refreshValidityMillis, int verifiedCacheSize) {
+        this(keyRing, accessValidityMillis, refreshValidityMillis, verifiedCacheSize, Metrics.globalRegistry);
+    }
+
+    public JwtUtil(JwtKeyRing keyRing, long accessValidityMillis, long refreshValidityMillis, int verifiedCacheSize,
+                   MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.accessValidityMillis = accessValidityMillis;
+        this.refreshValidityMillis = refreshValidityMillis;
+        this.verifiedTokens = new TtlCache<>("verifiedTokens", verifiedCacheSize, Math.max(accessValidityMillis, refreshValidityMillis));
+        this.parseTimer = Timer.builder("jwt.parse").description("JWT parse and signature verification").register(meterRegistry);
+        this.signAccessTimer = Timer.builder("jwt.sign").tag("type", TYPE_ACCESS).register(meterRegistry);
+        this.signRefreshTimer = Timer.builder("jwt.sign").tag("type", TYPE_REFRESH).register(meterRegistry);
+    }
+
+    /**
+     * Parses and verifies the token once, reusing a previous verification of the same token when cached.
+     *
+     * @throws JwtException if the signature is invalid, the token is malformed or it has expired
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = parseTimer.record(() -> extractAllClaims(token));
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(), claims);
+        verifiedTokens.put(key, verified, verified.getExpirationMillis());
+        return verified;
+    }
+
+    /**
+     * Verifies a token presented on an API call; refresh tokens are rejected.
+     *
+     * @throws JwtException if the token is invalid, expired or a refresh token
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (TYPE_REFRESH.equals(verified.getType())) {
+            throw new JwtException("Refresh token cannot be used as an access token");
+        }
+        return verified;
+    }
+
+    /**
+     * Verifies a token presented to the refresh endpoint.
+     *
+     * @throws JwtException if the token is invalid, expired or not a refresh token
+     */
+    public VerifiedToken verifyRefreshToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (!TYPE_REFRESH.equals(verified.getType())) {
+            throw new JwtException("Not a refresh token");
+        }
+        return verified;
+    }
 
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -33,44 +148,70 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    public String generateToken(UserDetails userDetails) {
+    // Short-lived token carrying everything JwtFilter needs to authorize a request without a database lookup
+    public String generateAccessToken(Long accountId, UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_TYPE, TYPE_ACCESS);
+        claims.put(CLAIM_ACCOUNT_ID, accountId);
+        claims.put(CLAIM_AUTHORITIES, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        claims.put(CLAIM_ACTIVE, userDetails.isEnabled());
+        return signAccessTimer.record(() -> createToken(claims, userDetails.getUsername(), accessValidityMillis));
     }
 
-    public String generateToken(String email, String password, boolean isActive) {
+    // Long-lived token only accepted by /auth/refresh, which re-reads the account before issuing a new access token
+    public String generateRefreshToken(Long accountId, String email) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("password", password);
-        claims.put("isActive", isActive);
-        return createToken(claims, email);
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+        claims.put(CLAIM_ACCOUNT_ID, accountId);
+        return signRefreshTimer.record(() -> createToken(claims, email, refreshValidityMillis));
+    }
+
+    public long getAccessTokenValiditySeconds() {
+        return accessValidityMillis / 1000;
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validityMillis) {
+        long now = System.currentTimeMillis();
+        claims.put(CLAIM_ISSUED_AT_MILLIS, now);
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // jti: lets TokenRevocationService revoke this one token
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMillis))
+                .signWith(signingKey.key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(token, userDetails.getUsername());
     }
 
     public boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (email != null && email.equals(verified.getSubject()) && !verified.isExpired());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Date extractExpiration(String token) {
+        return verify(token).getExpiration();
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public TtlCache<String, VerifiedToken> getVerifiedTokenCache() {
+        return verifiedTokens;
     }
-}
 
+    public Map<String, Object> verifiedTokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    VerifiedToken(String subject, Date issuedAt, Date expiration, Map<String, Object> claims) {
+        this.subject = subject;
+        this.issuedAt = issuedAt != null ? new Date(issuedAt.getTime()) : null;
+        this.expiration = new Date(expiration.getTime());
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt != null ? new Date(issuedAt.getTime()) : null;
+    }
+
+    // Exact issue time from the iatMs claim, falling back to iat for tokens issued without it
+    public Long getIssuedAtMillis() {
+        if (claims.get(JwtUtil.CLAIM_ISSUED_AT_MILLIS) instanceof Number millis) {
+            return millis.longValue();
+        }
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration.getTime());
+    }
+
+    public long getExpirationMillis() {
+        return expiration.getTime();
+    }
+
+    public boolean isExpired() {
+        return expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    // jti claim; tokens issued before it was added have none
+    public String getId() {
+        Object id = claims.get(Claims.ID);
+        return id != null ? id.toString() : null;
+    }
+
+    public String getType() {
+        Object type = claims.get(JwtUtil.CLAIM_TYPE);
+        return type != null ? type.toString() : null;
+    }
+
+    public Long getAccountId() {
+        Object accountId = claims.get(JwtUtil.CLAIM_ACCOUNT_ID);
+        return accountId instanceof Number number ? number.longValue() : null;
+    }
+
+    // Tokens issued before authorities were embedded carry none; JwtFilter rejects them
+    public boolean hasAuthorities() {
+        return claims.get(JwtUtil.CLAIM_AUTHORITIES) instanceof List;
+    }
+
+    public List<String> getAuthorities() {
+        Object authorities = claims.get(JwtUtil.CLAIM_AUTHORITIES);
+        if (!(authorities instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().map(String::valueOf).toList();
+    }
+
+    public boolean isActive() {
+        return !Boolean.FALSE.equals(claims.get(JwtUtil.CLAIM_ACTIVE));
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+}
@@ -0,0 +1,75 @@
+package service;
+
+import cache.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pojo.Category;
+import pojo.Orchid;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through caches for the category and orchid catalog.
+ * Entries expire after a TTL and are evicted explicitly by the catalog services on every write.
+ */
+@Component
+public class CatalogCache {
+
+    static final String ALL = "all";
+
+    private final TtlCache<String, List<Category>> allCategories;
+    private final TtlCache<Long, Category> categoriesById;
+    private final TtlCache<String, Category> categoriesByName;
+    private final TtlCache<Long, Orchid> orchidsById;
+
+    public CatalogCache(@Value("${catalog.cache.max-size:1000}") int maxSize,
+                        @Value("${catalog.cache.ttl-seconds:600}") long ttlSeconds) {
+        long ttlMillis = ttlSeconds * 1000;
+        this.allCategories = new TtlCache<>("allCategories", 1, ttlMillis);
+        this.categoriesById = new TtlCache<>("categoriesById", maxSize, ttlMillis);
+        this.categoriesByName = new TtlCache<>("categoriesByName", maxSize, ttlMillis);
+        this.orchidsById = new TtlCache<>("orchidsById", maxSize, ttlMillis);
+    }
+
+    public TtlCache<String, List<Category>> allCategories() {
+        return allCategories;
+    }
+
+    public TtlCache<Long, Category> categoriesById() {
+        return categoriesById;
+    }
+
+    public TtlCache<String, Category> categoriesByName() {
+        return categoriesByName;
+    }
+
+    public TtlCache<Long, Orchid> orchidsById() {
+        return orchidsById;
+    }
+
+    // A category change also invalidates cached orchids, which embed their category
+    public void evictCategories() {
+        allCategories.invalidateAll();
+        categoriesById.invalidateAll();
+        categoriesByName.invalidateAll();
+        orchidsById.invalidateAll();
+    }
+
+    public void evictOrchids() {
+        orchidsById.invalidateAll();
+    }
+
+    public void evictOrchid(Long orchidId) {
+        orchidsById.invalidate(orchidId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (TtlCache<?, ?> cache : List.of(allCategories, categoriesById, categoriesByName, orchidsById)) {
+            stats.put(cache.getName(), cache.stats());
+        }
+        return stats;
+    }
+}
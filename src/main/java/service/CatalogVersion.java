@@ -0,0 +1,110 @@
+package service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pojo.CatalogTableVersion;
+import repository.CatalogTableVersionRepository;
+
+import java.util.Date;
+
+/**
+ * Per-table change counters for the catalog, stored in catalog_versions and bumped by every category/orchid write.
+ * Controllers derive ETags from them so unchanged lists can be answered with 304 without querying the catalog.
+ * Every node re-reads the counters at most once per catalog.version.max-age-ms, so a write on one node changes the
+ * ETag everywhere within that window; a node that sees another node's change also drops its CatalogCache entries.
+ */
+@Component
+public class CatalogVersion {
+
+    static final String CATEGORIES = "categories";
+    static final String ORCHIDS = "orchids";
+
+    @Autowired
+    private CatalogTableVersionRepository versionRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Value("${catalog.version.max-age-ms:1000}")
+    private long maxAgeMillis;
+
+    private volatile Snapshot snapshot;
+    // Set by local writes so the next request reads the new counters instead of waiting for max-age
+    private volatile boolean changed;
+
+    @Transactional
+    public void categoriesChanged() {
+        versionRepository.increment(CATEGORIES, new Date());
+        changed = true;
+    }
+
+    @Transactional
+    public void orchidsChanged() {
+        versionRepository.increment(ORCHIDS, new Date());
+        changed = true;
+    }
+
+    public String categoriesETag() {
+        return "\"c-" + current().categories + "\"";
+    }
+
+    // Orchid payloads embed their category, so both counters are part of the tag
+    public String orchidsETag() {
+        Snapshot current = current();
+        return "\"o-" + current.orchids + "-" + current.categories + "\"";
+    }
+
+    public long categoriesLastModified() {
+        return current().categoriesModified;
+    }
+
+    public long orchidsLastModified() {
+        Snapshot current = current();
+        return Math.max(current.orchidsModified, current.categoriesModified);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return isFresh(current) ? current : reload();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && !changed && System.nanoTime() - current.loadedAt <= maxAgeMillis * 1_000_000;
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot previous = snapshot;
+        if (isFresh(previous)) {
+            return previous;
+        }
+        changed = false;
+        Snapshot loaded = new Snapshot();
+        for (CatalogTableVersion row : versionRepository.findAll()) {
+            if (CATEGORIES.equals(row.getName())) {
+                loaded.categories = row.getVersion();
+                loaded.categoriesModified = row.getModifiedAt().getTime();
+            } else if (ORCHIDS.equals(row.getName())) {
+                loaded.orchids = row.getVersion();
+                loaded.orchidsModified = row.getModifiedAt().getTime();
+            }
+        }
+        // Changes made by other nodes: cached entries may be older than the new tag
+        if (previous != null && previous.categories != loaded.categories) {
+            catalogCache.evictCategories();
+        } else if (previous != null && previous.orchids != loaded.orchids) {
+            catalogCache.evictOrchids();
+        }
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        final long loadedAt = System.nanoTime();
+        long categories;
+        long categoriesModified;
+        long orchids;
+        long orchidsModified;
+    }
+}
@@ -14,14 +14,20 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @Override
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return catalogCache.allCategories().get(CatalogCache.ALL, key -> List.copyOf(categoryRepository.findAll()));
     }
 
     @Override
     public Optional<Category> getCategoryById(Long id) {
-        return categoryRepository.findById(id);
+        return Optional.ofNullable(catalogCache.categoriesById().get(id, key -> categoryRepository.findById(key).orElse(null)));
     }
 
     @Override
@@ -31,7 +37,10 @@ public class CategoryServiceImpl implements CategoryService {
         if (existingCategory != null) {
             throw new IllegalArgumentException("Category with name '" + category.getCategoryName() + "' already exists");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogCache.evictCategories();
+        catalogVersion.categoriesChanged();
+        return saved;
     }
 
     @Override
@@ -46,7 +55,10 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         existingCategory.setCategoryName(category.getCategoryName());
-        return categoryRepository.save(existingCategory);
+        Category saved = categoryRepository.save(existingCategory);
+        catalogCache.evictCategories();
+        catalogVersion.categoriesChanged();
+        return saved;
     }
 
     @Override
@@ -55,10 +67,12 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalArgumentException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        catalogCache.evictCategories();
+        catalogVersion.categoriesChanged();
     }
 
     @Override
     public Category getCategoryByName(String name) {
-        return categoryRepository.findByCategoryName(name);
+        return catalogCache.categoriesByName().get(name, categoryRepository::findByCategoryName);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,233 @@
+package service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import pojo.Orchid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over orchid names and descriptions.
+ * Every word is indexed under its prefixes so partial input from a search box matches.
+ */
+@Component
+public class OrchidSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrchidSearchIndex.class);
+
+    private static final int MAX_PREFIX_LENGTH = 20;
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (orchidId -> weight); exact words and their prefixes are both terms
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // orchidId -> terms it was indexed under, used to remove a document on update/delete
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private final AtomicLong searches = new AtomicLong();
+    private volatile boolean ready;
+
+    public void rebuild(List<Orchid> orchids) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            for (Orchid orchid : orchids) {
+                addDocument(orchid);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Orchid search index built with {} documents", orchids.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Orchid orchid) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(orchid.getOrchidId());
+            addDocument(orchid);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long orchidId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(orchidId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of matching orchids, best match first. Every query word must match
+     * (as a whole word or a prefix) in the name or the description.
+     */
+    public List<Long> search(String query) {
+        long start = System.nanoTime();
+        try {
+            List<String> words = tokenize(query);
+            if (words.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, Integer> scores = null;
+            lock.readLock().lock();
+            try {
+                for (String word : words) {
+                    String term = word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word;
+                    Map<Long, Integer> matches = postings.get(term);
+                    if (matches == null) {
+                        return List.of();
+                    }
+                    if (scores == null) {
+                        scores = new HashMap<>(matches);
+                    } else {
+                        Map<Long, Integer> next = new HashMap<>();
+                        for (Map.Entry<Long, Integer> e : scores.entrySet()) {
+                            Integer weight = matches.get(e.getKey());
+                            if (weight != null) {
+                                next.put(e.getKey(), e.getValue() + weight);
+                            }
+                        }
+                        scores = next;
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Integer.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+            });
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Integer> e : ranked) {
+                ids.add(e.getKey());
+            }
+            return ids;
+        } finally {
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long count = searches.get();
+        int samples = (int) Math.min(count, LATENCY_SAMPLES);
+        long[] sorted;
+        synchronized (latencies) {
+            sorted = Arrays.copyOf(latencies, samples);
+        }
+        Arrays.sort(sorted);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("documents", documentTerms.size());
+            stats.put("terms", postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("ready", ready);
+        stats.put("searches", count);
+        stats.put("p50Micros", percentile(sorted, 0.50));
+        stats.put("p95Micros", percentile(sorted, 0.95));
+        stats.put("p99Micros", percentile(sorted, 0.99));
+        return stats;
+    }
+
+    private void addDocument(Orchid orchid) {
+        if (orchid.getOrchidId() == null) {
+            return;
+        }
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, orchid.getOrchidName(), NAME_WEIGHT);
+        addField(weights, orchid.getOrchidDescription(), DESCRIPTION_WEIGHT);
+
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(orchid.getOrchidId(), e.getValue());
+        }
+        documentTerms.put(orchid.getOrchidId(), weights.keySet());
+    }
+
+    private void removeDocument(Long orchidId) {
+        Set<String> terms = documentTerms.remove(orchidId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(orchidId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String word : new HashSet<>(tokenize(text))) {
+            int limit = Math.min(word.length(), MAX_PREFIX_LENGTH);
+            for (int i = 1; i <= limit; i++) {
+                String term = word.substring(0, i);
+                // A full-word hit ranks above a prefix hit in the same field
+                int score = i == word.length() ? weight * 2 : weight;
+                weights.merge(term, score, Math::max);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private void recordLatency(long nanos) {
+        long n = searches.getAndIncrement();
+        synchronized (latencies) {
+            latencies[(int) (n % LATENCY_SAMPLES)] = nanos;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000;
+    }
+}
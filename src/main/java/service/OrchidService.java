@@ -1,15 +1,27 @@
 package service;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import dto.OrchidSummary;
 import pojo.Orchid;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface OrchidService {
-    List<Orchid> getAllOrchids();
+    List<OrchidSummary> getAllOrchids();
     Optional<Orchid> getOrchidById(Long id);
     Orchid createOrchid(Orchid orchid);
     Orchid updateOrchid(Long id, Orchid orchid);
     void deleteOrchid(Long id);
-    List<Orchid> getOrchidsByCategory(Long categoryId);
-    List<Orchid> searchOrchidsByName(String name);
+    List<OrchidSummary> getOrchidsByCategory(Long categoryId);
+    List<OrchidSummary> searchOrchidsByName(String name);
+    Page<OrchidSummary> getOrchids(Pageable pageable);
+    Page<OrchidSummary> getOrchidsByCategory(Long categoryId, Pageable pageable);
+    Page<OrchidSummary> searchOrchidsByName(String name, Pageable pageable);
+    List<OrchidSummary> getOrchidsAfter(Long afterId, int size);
+    List<OrchidSummary> getOrchidsByCategoryAfter(Long categoryId, Long afterId, int size);
+    List<OrchidSummary> searchOrchidsByNameAfter(String name, Long afterId, int size);
+    Page<OrchidSummary> filterOrchids(Long categoryId, Boolean natural, Double minPrice, Double maxPrice, String name, Pageable pageable);
+    long exportOrchids(Consumer<Orchid> consumer);
 }
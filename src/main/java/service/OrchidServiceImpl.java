@@ -1,43 +1,85 @@
 package service;
 
+import dto.OrchidSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pojo.Orchid;
 import pojo.Category;
 import repository.OrchidRepository;
-import repository.CategoryRepository;
+import repository.OrchidSpecifications;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class OrchidServiceImpl implements OrchidService {
 
+    // IDs bound per "in (...)" query; SQL Server rejects statements with more than 2100 parameters
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     @Autowired
     private OrchidRepository orchidRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryService categoryService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private OrchidSearchIndex searchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        searchIndex.rebuild(orchidRepository.findAll());
+    }
 
     @Override
-    public List<Orchid> getAllOrchids() {
-        return orchidRepository.findAll();
+    public List<OrchidSummary> getAllOrchids() {
+        return orchidRepository.findAllSummaries();
     }
 
     @Override
     public Optional<Orchid> getOrchidById(Long id) {
-        return orchidRepository.findById(id);
+        return Optional.ofNullable(catalogCache.orchidsById().get(id, key -> orchidRepository.findById(key).orElse(null)));
     }
 
     @Override
     public Orchid createOrchid(Orchid orchid) {
         // Validate category exists
         if (orchid.getCategory() != null && orchid.getCategory().getCategoryId() != null) {
-            Category category = categoryRepository.findById(orchid.getCategory().getCategoryId())
+            Category category = categoryService.getCategoryById(orchid.getCategory().getCategoryId())
                     .orElseThrow(() -> new IllegalArgumentException("Category not found"));
             orchid.setCategory(category);
         }
-        return orchidRepository.save(orchid);
+        Orchid saved = orchidRepository.save(orchid);
+        catalogVersion.orchidsChanged();
+        searchIndex.index(saved);
+        return saved;
     }
 
     @Override
@@ -54,12 +96,16 @@ public class OrchidServiceImpl implements OrchidService {
         
         // Update category if provided
         if (orchid.getCategory() != null && orchid.getCategory().getCategoryId() != null) {
-            Category category = categoryRepository.findById(orchid.getCategory().getCategoryId())
+            Category category = categoryService.getCategoryById(orchid.getCategory().getCategoryId())
                     .orElseThrow(() -> new IllegalArgumentException("Category not found"));
             existingOrchid.setCategory(category);
         }
         
-        return orchidRepository.save(existingOrchid);
+        Orchid saved = orchidRepository.save(existingOrchid);
+        catalogCache.evictOrchid(id);
+        catalogVersion.orchidsChanged();
+        searchIndex.index(saved);
+        return saved;
     }
 
     @Override
@@ -68,15 +114,154 @@ public class OrchidServiceImpl implements OrchidService {
             throw new IllegalArgumentException("Orchid not found with id: " + id);
         }
         orchidRepository.deleteById(id);
+        catalogCache.evictOrchid(id);
+        catalogVersion.orchidsChanged();
+        searchIndex.remove(id);
+    }
+
+    @Override
+    public List<OrchidSummary> getOrchidsByCategory(Long categoryId) {
+        return orchidRepository.findSummariesByCategory(categoryId);
     }
 
     @Override
-    public List<Orchid> getOrchidsByCategory(Long categoryId) {
-        return orchidRepository.findByCategoryCategoryId(categoryId);
+    public List<OrchidSummary> searchOrchidsByName(String name) {
+        if (!searchIndex.isReady()) {
+            return orchidRepository.findSummariesByName(name);
+        }
+        return findAllInOrder(searchIndex.search(name));
+    }
+
+    @Override
+    public Page<OrchidSummary> getOrchids(Pageable pageable) {
+        return orchidRepository.findSummaries(pageable);
+    }
+
+    @Override
+    public Page<OrchidSummary> getOrchidsByCategory(Long categoryId, Pageable pageable) {
+        return orchidRepository.findSummariesByCategory(categoryId, pageable);
     }
 
     @Override
-    public List<Orchid> searchOrchidsByName(String name) {
-        return orchidRepository.findByOrchidNameContainingIgnoreCase(name);
+    public Page<OrchidSummary> searchOrchidsByName(String name, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            return orchidRepository.findSummariesByName(name, pageable);
+        }
+        // Matches always come from the index; an explicit sort only changes their order
+        List<Long> ids = searchIndex.search(name);
+        if (pageable.getSort().isSorted()) {
+            if (ids.size() <= MAX_IDS_PER_QUERY) {
+                List<OrchidSummary> content = ids.isEmpty() ? List.of() : orchidRepository.findSummariesByIds(ids, pageable);
+                return new PageImpl<>(content, pageable, ids.size());
+            }
+            // Too many ids for one query: load them in chunks and sort here
+            List<OrchidSummary> sorted = new ArrayList<>(findAllInOrder(ids));
+            sorted.sort(comparator(pageable.getSort()));
+            return page(sorted, pageable);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(findAllInOrder(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    @Override
+    public List<OrchidSummary> getOrchidsAfter(Long afterId, int size) {
+        return orchidRepository.findSummariesAfter(afterId, Limit.of(size));
+    }
+
+    @Override
+    public List<OrchidSummary> getOrchidsByCategoryAfter(Long categoryId, Long afterId, int size) {
+        return orchidRepository.findSummariesByCategoryAfter(categoryId, afterId, Limit.of(size));
+    }
+
+    @Override
+    public List<OrchidSummary> searchOrchidsByNameAfter(String name, Long afterId, int size) {
+        if (!searchIndex.isReady()) {
+            return orchidRepository.findSummariesByNameAfter(name, afterId, Limit.of(size));
+        }
+        // Same matches as the other search views, paged by orchidId
+        List<Long> ids = new ArrayList<>();
+        for (Long id : searchIndex.search(name)) {
+            if (id > afterId) {
+                ids.add(id);
+            }
+        }
+        Collections.sort(ids);
+        return findAllInOrder(ids.subList(0, Math.min(size, ids.size())));
+    }
+
+    @Override
+    public Page<OrchidSummary> filterOrchids(Long categoryId, Boolean natural, Double minPrice, Double maxPrice, String name, Pageable pageable) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        Specification<Orchid> spec = Specification.where(OrchidSpecifications.inCategory(categoryId))
+                .and(OrchidSpecifications.natural(natural))
+                .and(OrchidSpecifications.priceAtLeast(minPrice))
+                .and(OrchidSpecifications.priceAtMost(maxPrice))
+                .and(OrchidSpecifications.nameContains(name));
+        return orchidRepository.findAll(spec, pageable).map(OrchidSummary::from);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrchids(Consumer<Orchid> consumer) {
+        long count = 0;
+        try (Stream<Orchid> orchids = orchidRepository.streamAll()) {
+            for (Orchid orchid : (Iterable<Orchid>) orchids::iterator) {
+                consumer.accept(orchid);
+                // Detach once written so the persistence context does not grow with the catalog
+                entityManager.detach(orchid);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Page<OrchidSummary> page(List<OrchidSummary> all, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    // In-memory equivalent of the database ordering for the sortable summary fields
+    private static Comparator<OrchidSummary> comparator(Sort sort) {
+        Comparator<OrchidSummary> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<OrchidSummary> next = switch (order.getProperty()) {
+                case "orchidId" -> Comparator.comparing(OrchidSummary::getOrchidId);
+                case "orchidName" -> Comparator.comparing(OrchidSummary::getOrchidName,
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "price" -> Comparator.comparingDouble(OrchidSummary::getPrice);
+                default -> throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    // Loads orchid summaries by primary key and returns them in the order of the given ids
+    private List<OrchidSummary> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrchidSummary> byId = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (OrchidSummary orchid : orchidRepository.findSummariesByIds(chunk)) {
+                byId.put(orchid.getOrchidId(), orchid);
+            }
+        }
+        List<OrchidSummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrchidSummary orchid = byId.get(id);
+            if (orchid != null) {
+                ordered.add(orchid);
+            }
+        }
+        return ordered;
     }
 }
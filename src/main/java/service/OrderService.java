@@ -1,16 +1,18 @@
 package service;
 
+import dto.OrderSummary;
 import pojo.Order;
 import pojo.OrderDetail;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderService {
-    List<Order> getAllOrders();
+    List<OrderSummary> getAllOrders();
     Optional<Order> getOrderById(Long id);
     Order createOrder(Order order);
     Order updateOrderStatus(Long id, String status);
-    List<Order> getOrdersByUser();
+    List<OrderSummary> getOrdersByUser();
     OrderDetail addOrderItem(Long orderId, OrderDetail orderDetail);
+    List<OrderDetail> addOrderItems(Long orderId, List<OrderDetail> orderDetails);
     boolean isOrderOwner(Long orderId, String username);
 } 
\ No newline at end of file
@@ -1,20 +1,32 @@
 package service;
 
+import dto.OrderSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pojo.Order;
 import pojo.OrderDetail;
 import pojo.Account;
 import pojo.OrderStatus;
+import pojo.Orchid;
+import repository.OrchidRepository;
+import repository.OrderDetailRepository;
 import repository.OrderRepository;
 import repository.AccountRepo;
 
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -25,9 +37,21 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private AccountRepo accountRepo;
 
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private OrchidRepository orchidRepository;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public List<OrderSummary> getAllOrders() {
+        return orderRepository.findAllSummaries();
     }
 
     @Override
@@ -36,11 +60,12 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional
     public Order createOrder(Order order) {
         // Set current user as order owner
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        Account account = accountRepo.findByEmail(email);
+        Account account = accountRepo.findByEmailWithRole(email);
         if (account == null) {
             throw new IllegalArgumentException("User not found");
         }
@@ -50,46 +75,81 @@ public class OrderServiceImpl implements OrderService {
         order.setOrderStatus(OrderStatus.PENDING);
         order.setTotalAmount(BigDecimal.ZERO);
         
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderStatsService.orderCreated(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Order updateOrderStatus(Long id, String status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
         
         OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+        OrderStatus previous = order.getOrderStatus();
         order.setOrderStatus(orderStatus);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderStatsService.statusChanged(saved, previous);
+        return saved;
     }
 
     @Override
-    public List<Order> getOrdersByUser() {
+    public List<OrderSummary> getOrdersByUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        Account account = accountRepo.findByEmail(email);
-        if (account == null) {
-            throw new IllegalArgumentException("User not found");
-        }
-        
-        return orderRepository.findByAccountAccountId(account.getAccountId());
+        return orderRepository.findSummariesByAccountEmail(email);
     }
 
     @Override
+    @Transactional
     public OrderDetail addOrderItem(Long orderId, OrderDetail orderDetail) {
+        return addOrderItems(orderId, List.of(orderDetail)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderDetail> addOrderItems(Long orderId, List<OrderDetail> orderDetails) {
+        if (orderDetails == null || orderDetails.isEmpty()) {
+            throw new IllegalArgumentException("At least one order item is required");
+        }
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderId));
-        
-        orderDetail.setOrder(order);
-        
-        // Calculate and update total amount
-        BigDecimal currentTotal = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
-        BigDecimal itemTotal = BigDecimal.valueOf(orderDetail.getPrice() * orderDetail.getQuantity());
-        order.setTotalAmount(currentTotal.add(itemTotal));
-        
-        orderRepository.save(order);
-        
-        return orderDetail;
+
+        // Resolve every referenced orchid with a single query
+        Set<Long> orchidIds = new HashSet<>();
+        for (OrderDetail orderDetail : orderDetails) {
+            if (orderDetail.getOrchid() == null || orderDetail.getOrchid().getOrchidId() == null) {
+                throw new IllegalArgumentException("Orchid is required for every order item");
+            }
+            if (orderDetail.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+            orchidIds.add(orderDetail.getOrchid().getOrchidId());
+        }
+        Map<Long, Orchid> orchids = orchidRepository.findAllById(orchidIds).stream()
+                .collect(Collectors.toMap(Orchid::getOrchidId, Function.identity()));
+
+        BigDecimal itemsTotal = BigDecimal.ZERO;
+        for (OrderDetail orderDetail : orderDetails) {
+            Orchid orchid = orchids.get(orderDetail.getOrchid().getOrchidId());
+            if (orchid == null) {
+                throw new IllegalArgumentException("Orchid not found with id: " + orderDetail.getOrchid().getOrchidId());
+            }
+            orderDetail.setOrchid(orchid);
+            orderDetail.setOrder(order);
+            itemsTotal = itemsTotal.add(BigDecimal.valueOf(orderDetail.getPrice() * orderDetail.getQuantity()));
+        }
+
+        // Details are inserted as JDBC batches (hibernate.jdbc.batch_size) when addToTotalAmount flushes before its UPDATE
+        List<OrderDetail> saved = orderDetailRepository.saveAll(orderDetails);
+
+        // Add the batch total in the database (one UPDATE, no read-modify-write), then pick up the new value
+        orderRepository.addToTotalAmount(orderId, itemsTotal);
+        entityManager.refresh(order);
+        orderStatsService.itemsAdded(order, saved);
+
+        return saved;
     }
 
     @Override
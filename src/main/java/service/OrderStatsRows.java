@@ -0,0 +1,59 @@
+package service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import pojo.OrderStatus;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+
+/**
+ * Inserts empty rollup rows for OrderStatsService on the order transaction's own connection, so creating a bucket
+ * never takes a second pooled connection. The insert runs behind a savepoint: when two orders create the same bucket
+ * at once, the loser's duplicate key only rolls back to the savepoint and the order goes on to update the winner's row.
+ * Plain JDBC rather than a repository, because a failed JPA statement marks the whole transaction rollback-only.
+ */
+@Component
+public class OrderStatsRows {
+
+    // SQLState class for integrity constraint violations (unique keys included) on SQL Server and H2
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void createDaily(LocalDate statDate, OrderStatus status) {
+        insertIfAbsent("insert into order_daily_stats (stat_date, order_status, order_count, total_amount) values (?, ?, 0, ?)",
+                Date.valueOf(statDate), status.name(), BigDecimal.ZERO);
+    }
+
+    public void createCategory(LocalDate statDate, Long categoryId) {
+        insertIfAbsent("insert into order_daily_category_stats (stat_date, category_id, quantity, revenue) values (?, ?, 0, ?)",
+                Date.valueOf(statDate), categoryId, BigDecimal.ZERO);
+    }
+
+    private void insertIfAbsent(String sql, Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (e.getSQLState() == null || !e.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                    throw e;
+                }
+                // Another order created the row first
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pojo.Category;
+import pojo.Order;
+import pojo.OrderDailyStat;
+import pojo.OrderDetail;
+import pojo.OrderStatus;
+import repository.OrderDailyCategoryStatRepository;
+import repository.OrderDailyStatRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily order rollups: order count and amount per day and status, quantity and revenue per day and category.
+ * Rows are adjusted in the same transaction as the order write, so reports read O(days) rows instead of scanning orders.
+ */
+@Service
+@Lazy(false) // the nightly @Scheduled rebuild is only registered once the bean exists
+public class OrderStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatsService.class);
+
+    // A bucket can vanish between the insert and the update only if a rebuild deletes it; give up after a few tries
+    private static final int MAX_BUCKET_ATTEMPTS = 3;
+
+    @Autowired
+    private OrderDailyStatRepository dailyStatRepository;
+
+    @Autowired
+    private OrderDailyCategoryStatRepository categoryStatRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private OrderStatsRows statsRows;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        addToDay(day(order), order.getOrderStatus(), 1, amount(order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemsAdded(Order order, List<OrderDetail> items) {
+        BigDecimal itemsTotal = BigDecimal.ZERO;
+        Map<Long, long[]> quantities = new HashMap<>();
+        Map<Long, BigDecimal> revenues = new HashMap<>();
+        for (OrderDetail item : items) {
+            BigDecimal revenue = BigDecimal.valueOf(item.getPrice() * item.getQuantity());
+            Long categoryId = item.getOrchid().getCategory().getCategoryId();
+            quantities.computeIfAbsent(categoryId, k -> new long[1])[0] += item.getQuantity();
+            revenues.merge(categoryId, revenue, BigDecimal::add);
+            itemsTotal = itemsTotal.add(revenue);
+        }
+
+        LocalDate day = day(order);
+        addToDay(day, order.getOrderStatus(), 0, itemsTotal);
+        for (Map.Entry<Long, BigDecimal> e : revenues.entrySet()) {
+            addToCategory(day, e.getKey(), quantities.get(e.getKey())[0], e.getValue());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, OrderStatus previous) {
+        if (previous == order.getOrderStatus()) {
+            return;
+        }
+        // Move the order (and its amount) from the old status bucket to the new one
+        LocalDate day = day(order);
+        BigDecimal amount = amount(order);
+        if (previous != null) {
+            addToDay(day, previous, -1, amount.negate());
+        }
+        addToDay(day, order.getOrderStatus(), 1, amount);
+    }
+
+    // Update-then-insert instead of a vendor-specific upsert, so it runs on SQL Server and H2 alike.
+    // The bucket row is created at most once per day and key; after that this is a single UPDATE.
+    private void addToDay(LocalDate day, OrderStatus status, long count, BigDecimal amount) {
+        for (int attempt = 0; attempt < MAX_BUCKET_ATTEMPTS; attempt++) {
+            if (dailyStatRepository.increment(day, status, count, amount) > 0) {
+                return;
+            }
+            statsRows.createDaily(day, status);
+        }
+        throw new IllegalStateException("Could not update order rollup for " + day + " " + status);
+    }
+
+    private void addToCategory(LocalDate day, Long categoryId, long quantity, BigDecimal revenue) {
+        for (int attempt = 0; attempt < MAX_BUCKET_ATTEMPTS; attempt++) {
+            if (categoryStatRepository.increment(day, categoryId, quantity, revenue) > 0) {
+                return;
+            }
+            statsRows.createCategory(day, categoryId);
+        }
+        throw new IllegalStateException("Could not update category rollup for " + day + " category " + categoryId);
+    }
+
+    /**
+     * Recomputes every rollup row from orders and order details.
+     * Serializable so orders written during the rebuild wait for it instead of being counted twice or lost.
+     */
+    @Scheduled(cron = "${orders.stats.rebuild-cron:0 30 3 * * *}")
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        dailyStatRepository.deleteAllRows();
+        categoryStatRepository.deleteAllRows();
+        int dailyRows = dailyStatRepository.rebuildFromOrders();
+        int categoryRows = categoryStatRepository.rebuildFromOrderDetails();
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Order rollups rebuilt: {} daily rows, {} category rows in {} ms", dailyRows, categoryRows, elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("dailyRows", dailyRows);
+        result.put("categoryRows", categoryRows);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<String, Object>> days = new TreeMap<>();
+        Map<OrderStatus, Map<String, Object>> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderDailyStat stat : dailyStatRepository.findByStatDateBetweenOrderByStatDateAsc(from, to)) {
+            Map<String, Object> day = days.computeIfAbsent(stat.getStatDate(), d -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("date", d);
+                row.put("orderCount", 0L);
+                row.put("totalAmount", BigDecimal.ZERO);
+                row.put("byStatus", new EnumMap<OrderStatus, Map<String, Object>>(OrderStatus.class));
+                return row;
+            });
+            addTo(day, stat.getOrderCount(), stat.getTotalAmount());
+            @SuppressWarnings("unchecked")
+            Map<OrderStatus, Map<String, Object>> dayByStatus = (Map<OrderStatus, Map<String, Object>>) day.get("byStatus");
+            dayByStatus.put(stat.getOrderStatus(), bucket(stat.getOrderCount(), stat.getTotalAmount()));
+            addTo(byStatus.computeIfAbsent(stat.getOrderStatus(), s -> bucket(0, BigDecimal.ZERO)),
+                    stat.getOrderCount(), stat.getTotalAmount());
+        }
+
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoryNames.put(category.getCategoryId(), category.getCategoryName());
+        }
+        List<Map<String, Object>> byCategory = new ArrayList<>();
+        for (Object[] row : categoryStatRepository.sumByCategory(from, to)) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("categoryId", row[0]);
+            category.put("categoryName", categoryNames.get((Long) row[0]));
+            category.put("quantity", row[1]);
+            category.put("revenue", row[2]);
+            byCategory.add(category);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("from", from);
+        response.put("to", to);
+        response.put("days", new ArrayList<>(days.values()));
+        response.put("byStatus", byStatus);
+        response.put("byCategory", byCategory);
+        return response;
+    }
+
+    private static Map<String, Object> bucket(long orderCount, BigDecimal totalAmount) {
+        Map<String, Object> bucket = new LinkedHashMap<>();
+        bucket.put("orderCount", orderCount);
+        bucket.put("totalAmount", totalAmount);
+        return bucket;
+    }
+
+    private static void addTo(Map<String, Object> bucket, long orderCount, BigDecimal totalAmount) {
+        bucket.put("orderCount", (Long) bucket.get("orderCount") + orderCount);
+        bucket.put("totalAmount", ((BigDecimal) bucket.get("totalAmount")).add(totalAmount));
+    }
+
+    private static LocalDate day(Order order) {
+        return order.getOrderDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static BigDecimal amount(Order order) {
+        return order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+    }
+}
@@ -1,5 +1,9 @@
 package service;
 
+import cache.TtlCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -8,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pojo.Account;
@@ -15,6 +20,7 @@ import pojo.Role;
 import repository.AccountRepo;
 
 import java.util.Collections;
+import java.util.Map;
 
 @Service
 @Primary
@@ -25,40 +31,80 @@ public class SystemAccountService implements UserDetailsService {
     private final AccountRepo accountRepo;
     private final PasswordEncoder passwordEncoder;
 
-    public SystemAccountService(AccountRepo accountRepo, PasswordEncoder passwordEncoder) {
+    // Principals resolved for JWT requests, keyed by email
+    private final TtlCache<String, UserDetails> principalCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SystemAccountService(AccountRepo accountRepo, PasswordEncoder passwordEncoder,
+                                @Value("${security.principal-cache.max-size:10000}") int principalCacheSize,
+                                @Value("${security.principal-cache.ttl-seconds:300}") long principalCacheTtlSeconds) {
         this.accountRepo = accountRepo;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = new TtlCache<>("principals", principalCacheSize, principalCacheTtlSeconds * 1000);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        logger.info("Loading user by username: {}", email);
-        Account account = accountRepo.findByEmail(email);
+        logger.debug("Loading user by username: {}", email);
+        Account account = accountRepo.findByEmailWithRole(email);
         if (account == null) {
             logger.warn("User not found with email: {}", email);
             throw new UsernameNotFoundException("User not found with email: " + email);
         }
 
-        logger.info("Found user: {}, role: {}", account.getEmail(), account.getRole() != null ? account.getRole().getRoleName() : null);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found user: {}, role: {}", account.getEmail(), account.getRole() != null ? account.getRole().getRoleName() : null);
+        }
+        return toUserDetails(account);
+    }
 
+    // Builds UserDetails from an account whose role is already loaded, without touching the database
+    public UserDetails toUserDetails(Account account) {
         // Tạo UserDetails với password đã được mã hóa
         String roleName = account.getRole() != null ? account.getRole().getRoleName() : "USER";
         String authority = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-        
-        logger.info("Creating authority: {} for role: {}", authority, roleName);
-        
+
+        logger.debug("Creating authority: {} for role: {}", authority, roleName);
+
         UserDetails userDetails = new User(
                 account.getEmail(),
                 account.getPassword(),
+                account.isActive(),
+                true,
+                true,
+                true,
                 Collections.singletonList(new SimpleGrantedAuthority(authority))
         );
-        
-        logger.info("Created UserDetails with authorities: {}", userDetails.getAuthorities());
+
+        logger.debug("Created UserDetails with authorities: {}", userDetails.getAuthorities());
         return userDetails;
     }
 
+    public boolean passwordMatches(Account account, String rawPassword) {
+        return rawPassword != null && passwordEncoder.matches(rawPassword, account.getPassword());
+    }
+
+    // Same as loadUserByUsername but served from the principal cache when possible
+    public UserDetails loadCachedUser(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadUserByUsername);
+    }
+
+    public void evictCachedUser(String email) {
+        principalCache.invalidate(email);
+    }
+
+    public TtlCache<String, UserDetails> getPrincipalCache() {
+        return principalCache;
+    }
+
+    public Map<String, Object> principalCacheStats() {
+        return principalCache.stats();
+    }
+
     public boolean validateUser(String email, String password) {
-        logger.info("Validating user with email: {}", email);
+        logger.debug("Validating user with email: {}", email);
         Account account = accountRepo.findByEmail(email);
         if (account == null) {
             logger.warn("No matching account found for email: {}", email);
@@ -71,16 +117,19 @@ public class SystemAccountService implements UserDetailsService {
         return matches;
     }
 
+    // Loads the role with the account so callers can use it outside a persistence context
     public Account findByEmail(String email) {
-        return accountRepo.findByEmail(email);
+        return accountRepo.findByEmailWithRole(email);
     }
 
     // Method để tạo user mới với password được mã hóa
+    @Transactional
     public Account createUser(String email, String password, Role role, String accountName) {
         Account account = new Account();
         account.setEmail(email); // Chú ý: Email với E hoa
         account.setPassword(passwordEncoder.encode(password)); // Mã hóa password
-        account.setRole(role); // Role là object, không phải String
+        // Role may come from another persistence context (e.g. the password pool thread)
+        account.setRole(role != null && role.getRoleId() != null ? entityManager.merge(role) : role); // Role là object, không phải String
         account.setAccountName(accountName); // accountName thay cho username
         return accountRepo.save(account);
     }
@@ -91,7 +140,20 @@ public class SystemAccountService implements UserDetailsService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
         
         account.setRole(role);
-        return accountRepo.save(account);
+        Account saved = accountRepo.save(account);
+        principalCache.invalidate(saved.getEmail());
+        return saved;
+    }
+
+    // Method để kích hoạt / vô hiệu hóa tài khoản
+    public Account updateUserStatus(Long userId, boolean active) {
+        Account account = accountRepo.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+
+        account.setActive(active);
+        Account saved = accountRepo.save(account);
+        principalCache.invalidate(saved.getEmail());
+        return saved;
     }
 }
 
@@ -0,0 +1,183 @@
+package service;
+
+import cache.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pojo.AccountTokenCutoff;
+import pojo.RevokedToken;
+import repository.AccountTokenCutoffRepository;
+import repository.RevokedTokenRepository;
+import security.VerifiedToken;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked JWTs (by jti) and per-account "not before" cutoffs, persisted in the database and mirrored in memory.
+ * {@link #isRevoked} runs on every request without locks or queries: a Bloom filter answers "not revoked" for
+ * almost every token and only its rare positives are confirmed against the exact jti map. Other nodes'
+ * revocations arrive through an incremental poll, so they take effect within the refresh interval.
+ */
+@Service
+@Lazy(false) // the refresh and purge jobs are @Scheduled
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private AccountTokenCutoffRepository cutoffRepository;
+
+    @Value("${security.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    // Re-read rows written this long before the previous poll, so transactions that committed late are not missed
+    @Value("${security.revocation.refresh-overlap-seconds:30}")
+    private long refreshOverlapSeconds;
+
+    // Swapped as a whole when rebuilt; writers are serialized on this service, readers never lock
+    private volatile RevokedSet revoked;
+    private final ConcurrentHashMap<Long, Long> notBefore = new ConcurrentHashMap<>();
+    private volatile Date lastRefresh;
+
+    public boolean isRevoked(VerifiedToken token) {
+        Long accountId = token.getAccountId();
+        Long issuedAt = token.getIssuedAtMillis();
+        if (accountId != null && issuedAt != null) {
+            Long cutoff = notBefore.get(accountId);
+            if (cutoff != null && issuedAt <= cutoff) {
+                return true;
+            }
+        }
+        RevokedSet current = revoked;
+        String jti = token.getId();
+        return jti != null && current != null && current.contains(jti);
+    }
+
+    @Transactional
+    public synchronized void revoke(VerifiedToken token) {
+        String jti = token.getId();
+        if (jti == null) {
+            throw new IllegalArgumentException("Token has no jti and cannot be revoked individually");
+        }
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, token.getAccountId(), token.getExpiration(), new Date()));
+        }
+        revokedSet().add(jti, token.getExpirationMillis());
+    }
+
+    /**
+     * Rejects every token of the account issued up to now. Compared against the millisecond iatMs claim, so a
+     * token issued right after this call (e.g. the next login) is accepted.
+     */
+    @Transactional
+    public synchronized void revokeAllForAccount(Long accountId) {
+        Date now = new Date();
+        AccountTokenCutoff row = cutoffRepository.findById(accountId)
+                .orElseGet(() -> new AccountTokenCutoff(accountId, now, now));
+        if (row.getNotBefore().before(now)) {
+            row.setNotBefore(now);
+        }
+        row.setUpdatedAt(now);
+        cutoffRepository.save(row);
+        notBefore.merge(accountId, row.getNotBefore().getTime(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-seconds:5}", initialDelay = 0, timeUnit = TimeUnit.SECONDS)
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        Date now = new Date();
+        if (lastRefresh == null) {
+            RevokedSet loaded = new RevokedSet(expectedTokens);
+            List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(now);
+            tokens.forEach(t -> loaded.add(t.getJti(), t.getExpiresAt().getTime()));
+            List<AccountTokenCutoff> cutoffs = cutoffRepository.findAll();
+            cutoffs.forEach(this::applyCutoff);
+            revoked = loaded;
+            logger.info("Loaded {} revoked tokens and {} account cutoffs", tokens.size(), cutoffs.size());
+        } else {
+            Date since = new Date(lastRefresh.getTime() - TimeUnit.SECONDS.toMillis(refreshOverlapSeconds));
+            RevokedSet current = revokedSet();
+            for (RevokedToken t : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now)) {
+                current.add(t.getJti(), t.getExpiresAt().getTime());
+            }
+            cutoffRepository.findByUpdatedAtGreaterThanEqual(since).forEach(this::applyCutoff);
+        }
+        lastRefresh = now;
+    }
+
+    // Drops expired rows and rebuilds the Bloom filter without them, since a Bloom filter cannot forget values
+    @Scheduled(cron = "${security.revocation.purge-cron:0 15 * * * *}")
+    @Transactional
+    public synchronized void purgeExpired() {
+        Date now = new Date();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        RevokedSet current = revokedSet();
+        RevokedSet rebuilt = new RevokedSet(Math.max(expectedTokens, current.size() * 2));
+        current.expiresAt.forEach((jti, expiresAt) -> {
+            if (expiresAt > now.getTime()) {
+                rebuilt.add(jti, expiresAt);
+            }
+        });
+        revoked = rebuilt;
+        logger.info("Purged {} expired revoked tokens, {} still revoked", deleted, rebuilt.size());
+    }
+
+    public Map<String, Object> stats() {
+        RevokedSet current = revoked;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revokedTokens", current != null ? current.size() : 0);
+        stats.put("bloomBits", current != null ? current.bloom.getBitCount() : 0);
+        stats.put("bloomHashes", current != null ? current.bloom.getHashCount() : 0);
+        stats.put("accountCutoffs", notBefore.size());
+        stats.put("lastRefresh", lastRefresh);
+        return stats;
+    }
+
+    private RevokedSet revokedSet() {
+        if (revoked == null) {
+            revoked = new RevokedSet(expectedTokens);
+        }
+        return revoked;
+    }
+
+    private void applyCutoff(AccountTokenCutoff cutoff) {
+        notBefore.merge(cutoff.getAccountId(), cutoff.getNotBefore().getTime(), Math::max);
+    }
+
+    private static final class RevokedSet {
+        private final BloomFilter bloom;
+        private final ConcurrentHashMap<String, Long> expiresAt = new ConcurrentHashMap<>();
+
+        RevokedSet(int expectedInsertions) {
+            this.bloom = new BloomFilter(expectedInsertions, BLOOM_FALSE_POSITIVE_RATE);
+        }
+
+        void add(String jti, long expiresAtMillis) {
+            expiresAt.put(jti, expiresAtMillis);
+            bloom.put(jti);
+        }
+
+        boolean contains(String jti) {
+            return bloom.mightContain(jti) && expiresAt.containsKey(jti);
+        }
+
+        int size() {
+            return expiresAt.size();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+-- H2 counterpart of db/migration/sqlserver/V1__initial_schema.sql, used by the h2 profile (local runs and native smoke tests)
+
+CREATE SEQUENCE role_generator START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orchid_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_detail_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE roles (
+    role_id BIGINT NOT NULL PRIMARY KEY,
+    role_name VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE accounts (
+    account_id BIGINT NOT NULL PRIMARY KEY,
+    account_name VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    role_id BIGINT,
+    CONSTRAINT fk_accounts_role FOREIGN KEY (role_id) REFERENCES roles (role_id)
+);
+
+CREATE TABLE category (
+    category_id BIGINT NOT NULL PRIMARY KEY,
+    category_name VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE orchid (
+    orchid_id BIGINT NOT NULL PRIMARY KEY,
+    is_natural BOOLEAN,
+    orchid_description VARCHAR(255),
+    orchid_name VARCHAR(255),
+    orchid_url VARCHAR(255),
+    price DOUBLE PRECISION NOT NULL,
+    category_id BIGINT NOT NULL,
+    CONSTRAINT fk_orchid_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    order_date TIMESTAMP(6),
+    order_status VARCHAR(255),
+    total_amount NUMERIC(38, 2),
+    CONSTRAINT fk_orders_account FOREIGN KEY (account_id) REFERENCES accounts (account_id)
+);
+
+CREATE TABLE order_details (
+    id BIGINT NOT NULL PRIMARY KEY,
+    orchid_id BIGINT NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    quantity INTEGER NOT NULL,
+    order_id BIGINT NOT NULL,
+    CONSTRAINT fk_order_details_orchid FOREIGN KEY (orchid_id) REFERENCES orchid (orchid_id),
+    CONSTRAINT fk_order_details_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE order_daily_stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    stat_date DATE NOT NULL,
+    order_status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    total_amount NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT uq_order_daily_stats UNIQUE (stat_date, order_status)
+);
+
+CREATE TABLE order_daily_category_stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    stat_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT uq_order_daily_category_stats UNIQUE (stat_date, category_id)
+);
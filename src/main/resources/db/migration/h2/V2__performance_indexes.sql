@@ -0,0 +1,9 @@
+-- H2 counterpart of db/migration/sqlserver/V2__performance_indexes.sql (H2 has no INCLUDE columns)
+
+CREATE INDEX ix_orders_account_id ON orders (account_id);
+CREATE INDEX ix_orchid_category_price ON orchid (category_id, price);
+CREATE INDEX ix_orchid_natural_price ON orchid (is_natural, price);
+CREATE INDEX ix_orchid_orchid_name ON orchid (orchid_name);
+CREATE INDEX ix_order_details_order_id ON order_details (order_id);
+CREATE INDEX ix_order_details_orchid_id ON order_details (orchid_id);
+CREATE INDEX ix_accounts_role_id ON accounts (role_id);
@@ -0,0 +1,21 @@
+-- H2 counterpart of db/migration/sqlserver/V3__token_revocation.sql
+
+CREATE TABLE revoked_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    jti VARCHAR(64) NOT NULL UNIQUE,
+    account_id BIGINT,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX ix_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE TABLE account_token_cutoffs (
+    account_id BIGINT NOT NULL PRIMARY KEY,
+    not_before TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_account_token_cutoffs_account FOREIGN KEY (account_id) REFERENCES accounts (account_id)
+);
+
+CREATE INDEX ix_account_token_cutoffs_updated_at ON account_token_cutoffs (updated_at);
@@ -0,0 +1,10 @@
+-- H2 counterpart of db/migration/sqlserver/V4__catalog_versions.sql
+
+CREATE TABLE catalog_versions (
+    name VARCHAR(20) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL,
+    modified_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO catalog_versions (name, version, modified_at) VALUES ('categories', 0, CURRENT_TIMESTAMP);
+INSERT INTO catalog_versions (name, version, modified_at) VALUES ('orchids', 0, CURRENT_TIMESTAMP);
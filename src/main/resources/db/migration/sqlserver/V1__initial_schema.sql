@@ -0,0 +1,89 @@
+-- Initial schema, matching the JPA mappings in package pojo.
+-- Databases previously created by ddl-auto=update are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE SEQUENCE role_generator START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orchid_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_detail_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE roles (
+    role_id BIGINT NOT NULL,
+    role_name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_roles PRIMARY KEY (role_id),
+    CONSTRAINT uq_roles_role_name UNIQUE (role_name)
+);
+
+CREATE TABLE accounts (
+    account_id BIGINT NOT NULL,
+    account_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    is_active BIT NOT NULL,
+    role_id BIGINT NULL,
+    CONSTRAINT pk_accounts PRIMARY KEY (account_id),
+    CONSTRAINT uq_accounts_account_name UNIQUE (account_name),
+    CONSTRAINT uq_accounts_email UNIQUE (email),
+    CONSTRAINT fk_accounts_role FOREIGN KEY (role_id) REFERENCES roles (role_id)
+);
+
+CREATE TABLE category (
+    category_id BIGINT NOT NULL,
+    category_name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_category PRIMARY KEY (category_id),
+    CONSTRAINT uq_category_category_name UNIQUE (category_name)
+);
+
+CREATE TABLE orchid (
+    orchid_id BIGINT NOT NULL,
+    is_natural BIT NULL,
+    orchid_description VARCHAR(255) NULL,
+    orchid_name VARCHAR(255) NULL,
+    orchid_url VARCHAR(255) NULL,
+    price FLOAT(53) NOT NULL,
+    category_id BIGINT NOT NULL,
+    CONSTRAINT pk_orchid PRIMARY KEY (orchid_id),
+    CONSTRAINT fk_orchid_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    order_date DATETIME2(6) NULL,
+    order_status VARCHAR(255) NULL,
+    total_amount NUMERIC(38, 2) NULL,
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT fk_orders_account FOREIGN KEY (account_id) REFERENCES accounts (account_id)
+);
+
+CREATE TABLE order_details (
+    id BIGINT NOT NULL,
+    orchid_id BIGINT NOT NULL,
+    price FLOAT(53) NOT NULL,
+    quantity INT NOT NULL,
+    order_id BIGINT NOT NULL,
+    CONSTRAINT pk_order_details PRIMARY KEY (id),
+    CONSTRAINT fk_order_details_orchid FOREIGN KEY (orchid_id) REFERENCES orchid (orchid_id),
+    CONSTRAINT fk_order_details_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE order_daily_stats (
+    id BIGINT IDENTITY(1, 1) NOT NULL,
+    stat_date DATE NOT NULL,
+    order_status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    total_amount NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT pk_order_daily_stats PRIMARY KEY (id),
+    CONSTRAINT uq_order_daily_stats UNIQUE (stat_date, order_status)
+);
+
+CREATE TABLE order_daily_category_stats (
+    id BIGINT IDENTITY(1, 1) NOT NULL,
+    stat_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue NUMERIC(19, 2) NOT NULL,
+    CONSTRAINT pk_order_daily_category_stats PRIMARY KEY (id),
+    CONSTRAINT uq_order_daily_category_stats UNIQUE (stat_date, category_id)
+);
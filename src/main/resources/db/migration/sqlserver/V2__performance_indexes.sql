@@ -0,0 +1,30 @@
+-- Indexes backing the repository finders and foreign keys.
+-- accounts.email, category.category_name and roles.role_name are already covered by their unique constraints.
+-- Guarded so databases baselined from ddl-auto=update (or setup_database.sql) can apply this script too.
+
+-- OrderRepository.findByAccountAccountId / order list summaries: covering, no lookup into the clustered index
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_orders_account_id')
+    CREATE INDEX ix_orders_account_id ON orders (account_id) INCLUDE (order_date, order_status, total_amount);
+
+-- OrchidRepository.findByCategoryCategoryId and the category + price range filter
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_orchid_category_price')
+    CREATE INDEX ix_orchid_category_price ON orchid (category_id, price);
+
+-- Natural flag + price range filter
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_orchid_natural_price')
+    CREATE INDEX ix_orchid_natural_price ON orchid (is_natural, price);
+
+-- OrchidRepository.findByOrchidName
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_orchid_orchid_name')
+    CREATE INDEX ix_orchid_orchid_name ON orchid (orchid_name);
+
+-- OrderDetailRepository.findByOrderId
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_order_details_order_id')
+    CREATE INDEX ix_order_details_order_id ON order_details (order_id) INCLUDE (orchid_id, price, quantity);
+
+-- Foreign keys checked on orchid and role deletes
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_order_details_orchid_id')
+    CREATE INDEX ix_order_details_orchid_id ON order_details (orchid_id);
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'ix_accounts_role_id')
+    CREATE INDEX ix_accounts_role_id ON accounts (role_id);
@@ -0,0 +1,25 @@
+-- Token revocation store read by TokenRevocationService.
+-- revoked_at / updated_at back the incremental refresh, expires_at the hourly purge.
+
+CREATE TABLE revoked_tokens (
+    id BIGINT IDENTITY(1, 1) NOT NULL,
+    jti VARCHAR(64) NOT NULL,
+    account_id BIGINT NULL,
+    expires_at DATETIME2(6) NOT NULL,
+    revoked_at DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (id),
+    CONSTRAINT uq_revoked_tokens_jti UNIQUE (jti)
+);
+
+CREATE INDEX ix_revoked_tokens_revoked_at ON revoked_tokens (revoked_at) INCLUDE (jti, expires_at);
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE TABLE account_token_cutoffs (
+    account_id BIGINT NOT NULL,
+    not_before DATETIME2(6) NOT NULL,
+    updated_at DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_account_token_cutoffs PRIMARY KEY (account_id),
+    CONSTRAINT fk_account_token_cutoffs_account FOREIGN KEY (account_id) REFERENCES accounts (account_id)
+);
+
+CREATE INDEX ix_account_token_cutoffs_updated_at ON account_token_cutoffs (updated_at);
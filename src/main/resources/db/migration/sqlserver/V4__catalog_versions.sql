@@ -0,0 +1,11 @@
+-- Change counters for the catalog, shared by every node; CatalogVersion derives list ETags from them.
+
+CREATE TABLE catalog_versions (
+    name VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL,
+    modified_at DATETIME2(6) NOT NULL,
+    CONSTRAINT pk_catalog_versions PRIMARY KEY (name)
+);
+
+INSERT INTO catalog_versions (name, version, modified_at) VALUES ('categories', 0, SYSUTCDATETIME());
+INSERT INTO catalog_versions (name, version, modified_at) VALUES ('orchids', 0, SYSUTCDATETIME());
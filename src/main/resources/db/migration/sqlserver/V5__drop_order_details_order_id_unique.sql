@@ -0,0 +1,27 @@
+-- Databases created by ddl-auto=update before Flyway carry the UNIQUE constraint Hibernate generated for the old
+-- @OneToOne OrderDetail.order, which rejects a second line per order. They are baselined at V1, so drop it here.
+-- Its name is generated (UK_...), so it is looked up by column: any unique constraint or unique index whose only
+-- key column is order_details.order_id. Databases created from V1 have none and this is a no-op.
+
+DECLARE @drops NVARCHAR(MAX) = N'';
+
+SELECT @drops = @drops +
+       CASE WHEN i.is_unique_constraint = 1
+            THEN N'ALTER TABLE order_details DROP CONSTRAINT ' + QUOTENAME(i.name) + N';'
+            ELSE N'DROP INDEX ' + QUOTENAME(i.name) + N' ON order_details;'
+       END
+FROM sys.indexes i
+WHERE i.object_id = OBJECT_ID(N'order_details')
+  AND i.is_unique = 1
+  AND i.is_primary_key = 0
+  AND EXISTS (SELECT 1
+              FROM sys.index_columns ic
+              JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+              WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id
+                AND ic.key_ordinal > 0 AND c.name = N'order_id')
+  AND (SELECT COUNT(*)
+       FROM sys.index_columns ic
+       WHERE ic.object_id = i.object_id AND ic.index_id = i.index_id AND ic.key_ordinal > 0) = 1;
+
+IF @drops <> N''
+    EXEC sp_executesql @drops;
@@ -0,0 +1,95 @@
+package com.se170395.orchid;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import security.JwtKeyRing;
+import security.JwtUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingTests {
+
+	private static final char[] PASSWORD = "changeit".toCharArray();
+
+	@TempDir
+	Path dir;
+
+	private final UserDetails user = new User("user@example.com", "",
+			List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+	@Test
+	void nodesSharingKeystoreValidateEachOthersTokens() {
+		Path keystore = dir.resolve("jwt-keys.p12");
+		JwtUtil nodeA = node(keystore, true);
+		JwtUtil nodeB = node(keystore, false);
+
+		String fromA = nodeA.generateAccessToken(1L, user);
+		String fromB = nodeB.generateAccessToken(2L, user);
+
+		assertEquals("user@example.com", nodeB.verifyAccessToken(fromA).getSubject());
+		assertEquals("user@example.com", nodeA.verifyAccessToken(fromB).getSubject());
+	}
+
+	@Test
+	void tokensSignedWithRotatedKeyVerifyOnEveryNode() {
+		Path keystore = dir.resolve("jwt-keys.p12");
+		JwtKeyRing ringA = ring(keystore, true);
+		JwtKeyRing ringB = ring(keystore, false);
+		JwtUtil nodeA = new JwtUtil(ringA, 60_000, 120_000, 100);
+		JwtUtil nodeB = new JwtUtil(ringB, 60_000, 120_000, 100);
+		String beforeRotation = nodeB.generateAccessToken(1L, user);
+		String oldKid = ringA.signingKey().kid();
+
+		ringA.rotate(true);
+		String afterRotation = nodeA.generateAccessToken(1L, user);
+
+		assertNotEquals(oldKid, ringA.signingKey().kid());
+		// Node B has not reloaded yet; the unknown kid makes it pick up the new key
+		assertEquals("user@example.com", nodeB.verifyAccessToken(afterRotation).getSubject());
+		assertEquals("user@example.com", nodeA.verifyAccessToken(beforeRotation).getSubject());
+	}
+
+	@Test
+	void keystoreReplacedWithSameModifiedTimeIsReloaded() throws Exception {
+		Path keystore = dir.resolve("jwt-keys.p12");
+		JwtKeyRing ringA = ring(keystore, true);
+		JwtKeyRing ringB = ring(keystore, false);
+		FileTime modified = Files.getLastModifiedTime(keystore);
+
+		ringA.rotate(true);
+		Files.setLastModifiedTime(keystore, modified);
+		ringB.reloadIfChanged();
+
+		assertEquals(ringA.signingKey().kid(), ringB.signingKey().kid());
+	}
+
+	@Test
+	void tokensFromForeignKeyRingAreRejected() {
+		JwtUtil node = node(dir.resolve("jwt-keys.p12"), false);
+		JwtUtil stranger = new JwtUtil();
+
+		String token = stranger.generateAccessToken(1L, user);
+
+		assertThrows(JwtException.class, () -> node.verifyAccessToken(token));
+	}
+
+	private JwtUtil node(Path keystore, boolean rotationEnabled) {
+		return new JwtUtil(ring(keystore, rotationEnabled), 60_000, 120_000, 100);
+	}
+
+	private static JwtKeyRing ring(Path keystore, boolean rotationEnabled) {
+		return new JwtKeyRing(keystore, PASSWORD, Duration.ofHours(24), Duration.ofDays(8), Duration.ZERO, rotationEnabled);
+	}
+}
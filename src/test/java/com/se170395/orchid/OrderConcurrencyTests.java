@@ -0,0 +1,123 @@
+package com.se170395.orchid;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pojo.Account;
+import pojo.Category;
+import pojo.Orchid;
+import pojo.Order;
+import pojo.OrderDetail;
+import pojo.OrderStatus;
+import pojo.Role;
+import repository.AccountRepo;
+import repository.CategoryRepository;
+import repository.OrchidRepository;
+import repository.OrderRepository;
+import service.OrderService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parallel addOrderItems calls against a single order: the database-side total_amount increment must not lose
+ * updates, so the final total equals the sum of every inserted item.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderConcurrencyTests {
+
+	private static final int THREADS = 8;
+	private static final int CALLS_PER_THREAD = 50;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private AccountRepo accountRepo;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private OrchidRepository orchidRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void parallelAddOrderItemsKeepTotalAmountConsistent() throws Exception {
+		// The role is persisted through Account's cascade
+		Account account = accountRepo.save(new Account(null, "stress", "stress@example.com", "x", new Role(null, "STRESS")));
+		Category category = categoryRepository.save(new Category(null, "Stress"));
+		Orchid orchid = new Orchid();
+		orchid.setOrchidName("Stress orchid");
+		orchid.setPrice(12.5);
+		orchid.setCategory(category);
+		orchid = orchidRepository.save(orchid);
+		Long orderId = orderRepository.save(new Order(null, account, new Date(), OrderStatus.PENDING, BigDecimal.ZERO)).getId();
+
+		Long orchidId = orchid.getOrchidId();
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<BigDecimal>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			results.add(pool.submit(() -> {
+				start.await();
+				BigDecimal added = BigDecimal.ZERO;
+				for (int i = 0; i < CALLS_PER_THREAD; i++) {
+					// Two items per call with thread-specific prices, so a lost update changes the total
+					List<OrderDetail> items = List.of(item(orchidId, 10 + thread, 1 + i % 3), item(orchidId, 0.25, 2));
+					orderService.addOrderItems(orderId, items);
+					for (OrderDetail item : items) {
+						added = added.add(BigDecimal.valueOf(item.getPrice() * item.getQuantity()));
+					}
+				}
+				return added;
+			}));
+		}
+
+		start.countDown();
+		BigDecimal sum = BigDecimal.ZERO;
+		for (Future<BigDecimal> result : results) {
+			sum = sum.add(result.get());
+		}
+		BigDecimal expected = sum;
+		pool.shutdown();
+
+		BigDecimal totalAmount = jdbcTemplate.queryForObject(
+				"select total_amount from orders where id = ?", BigDecimal.class, orderId);
+		BigDecimal itemsSum = jdbcTemplate.queryForObject(
+				"select sum(price * quantity) from order_details where order_id = ?", BigDecimal.class, orderId);
+		Integer itemCount = jdbcTemplate.queryForObject(
+				"select count(*) from order_details where order_id = ?", Integer.class, orderId);
+
+		assertEquals(THREADS * CALLS_PER_THREAD * 2, itemCount);
+		assertEquals(0, expected.compareTo(totalAmount), () -> "total_amount " + totalAmount + ", expected " + expected);
+		assertEquals(0, itemsSum.compareTo(totalAmount), () -> "total_amount " + totalAmount + ", items sum " + itemsSum);
+	}
+
+	private static OrderDetail item(Long orchidId, double price, int quantity) {
+		Orchid orchid = new Orchid();
+		orchid.setOrchidId(orchidId);
+		OrderDetail item = new OrderDetail();
+		item.setOrchid(orchid);
+		item.setPrice(price);
+		item.setQuantity(quantity);
+		return item;
+	}
+}
@@ -0,0 +1,93 @@
+package com.se170395.orchid;
+
+import metrics.HibernateStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import pojo.Account;
+import pojo.Order;
+import pojo.OrderStatus;
+import pojo.Role;
+import repository.AccountRepo;
+import repository.OrderRepository;
+import service.OrderService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order listings must run a fixed number of SQL statements however many orders exist (no N+1 over account or role).
+ * Statements are counted with the same StatementInspector that feeds hibernate.statements.per.request.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class OrderQueryCountTests {
+
+	private static final int N = 5;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private AccountRepo accountRepo;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void orderListingsRunSameStatementCountForNAndTenTimesNOrders() {
+		Account account = accountRepo.save(new Account(null, "counted", "counted@example.com", "x", new Role(null, "COUNTED")));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(account.getEmail(), null, List.of()));
+		int othersOrders = orderService.getAllOrders().size();
+
+		seedOrders(account, N);
+		assertEquals(othersOrders + N, orderService.getAllOrders().size());
+		assertEquals(N, orderService.getOrdersByUser().size());
+		int allSmall = statements(orderService::getAllOrders);
+		int mineSmall = statements(orderService::getOrdersByUser);
+		assertTrue(allSmall > 0 && mineSmall > 0, "HibernateStatementCounter is not registered as statement inspector");
+
+		seedOrders(account, 9 * N);
+		assertEquals(othersOrders + 10 * N, orderService.getAllOrders().size());
+		assertEquals(10 * N, orderService.getOrdersByUser().size());
+		int allLarge = statements(orderService::getAllOrders);
+		int mineLarge = statements(orderService::getOrdersByUser);
+
+		assertEquals(allSmall, allLarge, "getAllOrders statements for " + N + " vs " + 10 * N + " orders");
+		assertEquals(mineSmall, mineLarge, "getOrdersByUser statements for " + N + " vs " + 10 * N + " orders");
+	}
+
+	private void seedOrders(Account account, int count) {
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			orders.add(new Order(null, account, new Date(), OrderStatus.PENDING, BigDecimal.ZERO));
+		}
+		orderRepository.saveAll(orders);
+	}
+
+	private static int statements(Runnable call) {
+		AtomicInteger count = HibernateStatementCounter.begin();
+		try {
+			call.run();
+			return count.get();
+		} finally {
+			HibernateStatementCounter.end();
+		}
+	}
+}